@@ -23,6 +23,7 @@ import com.bric.colorpicker.colorslider.ColorSliderUI;
 import com.bric.colorpicker.listeners.ColorListener;
 import com.bric.colorpicker.listeners.HexFieldListener;
 import com.bric.colorpicker.listeners.SelectAllListener;
+import com.bric.colorpicker.listeners.SliderPrefetchListener;
 import com.bric.colorpicker.models.ColorModel;
 import com.bric.colorpicker.models.ModeModel;
 import com.bric.colorpicker.options.AlphaOption;
@@ -102,6 +103,12 @@ public class ColorPicker extends JPanel {
      */
     private static final String MODE_CONTROLS_VISIBLE_PROPERTY = "mode controls visible";
 
+    /**
+     * The client property that holds the {@link RenderQuality} of the color panel and the slider.
+     * Setting it with {@code putClientProperty} has the same effect as {@link #setRenderQuality(RenderQuality)}.
+     */
+    public static final String RENDER_QUALITY_PROPERTY = "render quality";
+
     /**
      * Path to the localization bundle
      */
@@ -125,6 +132,10 @@ public class ColorPicker extends JPanel {
     private final JPanel expertControls = new JPanel(new GridBagLayout());
     private final ColorPickerPanel colorPanel = new ColorPickerPanel();
     private final OpacitySlider opacitySlider = new OpacitySlider();
+    /**
+     * Whether the panel was told that the value is adjusting because the slider is dragged.
+     */
+    private boolean sliderIsAdjusting;
 
     private final ColorSwatch preview;
     private final JLabel hexLabel;
@@ -277,6 +288,7 @@ public class ColorPicker extends JPanel {
 
         initializeColorPanel();
         initializeSlider();
+        addPropertyChangeListener(RENDER_QUALITY_PROPERTY, e -> applyRenderQuality());
         initializePreview();
         initializeHexField();
 
@@ -379,6 +391,10 @@ public class ColorPicker extends JPanel {
     private void initializeColorPanel() {
         int height = expertControls.getPreferredSize().height;
         colorPanel.setPreferredSize(new Dimension(height, height));
+        // the panel fills its space, which can be thousands of device pixels on large screens
+        colorPanel.setAsynchronousRendering(true);
+        colorPanel.setParallelRendering(true);
+        colorPanel.setProgressiveRendering(true);
 
         colorModel.addColorListener(colorPanel);
         modeModel.addListener(colorPanel);
@@ -387,9 +403,15 @@ public class ColorPicker extends JPanel {
             if (colorModel.isChanging()) {
                 return;
             }
-            int[] rgb = colorPanel.getRGB();
             colorPanel.aboutToChangeColor();
-            colorModel.setColor(new Color(rgb[0], rgb[1], rgb[2]));
+            ColorPickerMode mode = modeModel.getMode();
+            if (ColorPickerMode.HUE == mode || ColorPickerMode.SATURATION == mode || ColorPickerMode.BRIGHTNESS == mode) {
+                float[] hsb = colorPanel.getHSB();
+                colorModel.setHSB(hsb[0], hsb[1], hsb[2]);
+            } else {
+                int[] rgb = colorPanel.getRGB();
+                colorModel.setColor(new Color(rgb[0], rgb[1], rgb[2]));
+            }
         });
     }
 
@@ -397,34 +419,39 @@ public class ColorPicker extends JPanel {
         colorModel.addColorListener(slider);
         modeModel.addListener(slider);
         slider.addChangeListener(e -> {
-            if (!slider.getValueIsAdjusting()) {
-                if (colorModel.isChanging()) {
-                    return;
-                }
-                slider.aboutToChangeColor();
-                ColorPickerMode mode = modeModel.getMode();
-                switch (mode) {
-                    case HUE:
-                        colorModel.setHue(slider.getValue() / (float) mode.getMax());
-                        break;
-                    case BRIGHTNESS:
-                        colorModel.setBrightness(slider.getValue() / (float) mode.getMax());
-                        break;
-                    case SATURATION:
-                        colorModel.setSaturation(slider.getValue() / (float) mode.getMax());
-                        break;
-                    case RED:
-                        colorModel.setRed(slider.getValue());
-                        break;
-                    case GREEN:
-                        colorModel.setGreen(slider.getValue());
-                        break;
-                    case BLUE:
-                        colorModel.setBlue(slider.getValue());
-                        break;
-                }
+            if (colorModel.isChanging()) {
+                return;
+            }
+            // the panel renders previews while the slider is dragged, and the full graphic once it is released
+            boolean adjusting = slider.getValueIsAdjusting();
+            if (adjusting || sliderIsAdjusting) {
+                colorPanel.setValueIsAdjusting(adjusting);
+            }
+            sliderIsAdjusting = adjusting;
+            slider.aboutToChangeColor();
+            ColorPickerMode mode = modeModel.getMode();
+            switch (mode) {
+                case HUE:
+                    colorModel.setHue(slider.getValue() / (float) mode.getMax());
+                    break;
+                case BRIGHTNESS:
+                    colorModel.setBrightness(slider.getValue() / (float) mode.getMax());
+                    break;
+                case SATURATION:
+                    colorModel.setSaturation(slider.getValue() / (float) mode.getMax());
+                    break;
+                case RED:
+                    colorModel.setRed(slider.getValue());
+                    break;
+                case GREEN:
+                    colorModel.setGreen(slider.getValue());
+                    break;
+                case BLUE:
+                    colorModel.setBlue(slider.getValue());
+                    break;
             }
         });
+        slider.addChangeListener(new SliderPrefetchListener(slider, colorPanel, modeModel));
         slider.setUI(new ColorSliderUI(slider, this));
     }
 
@@ -634,6 +661,34 @@ public class ColorPicker extends JPanel {
         alphaOption.setSpinnerVisible(visible);
     }
 
+    /**
+     * Sets how accurately the color panel and the slider render their colors.
+     * <P>The default is {@code BALANCED}.
+     *
+     * @param renderQuality the quality to render the colors with
+     * @see #RENDER_QUALITY_PROPERTY
+     */
+    public void setRenderQuality(RenderQuality renderQuality) {
+        if (renderQuality == null) {
+            throw new IllegalArgumentException("renderQuality must not be null");
+        }
+        putClientProperty(RENDER_QUALITY_PROPERTY, renderQuality);
+    }
+
+    /**
+     * @return how accurately the color panel and the slider render their colors.
+     * @see #setRenderQuality(RenderQuality)
+     */
+    public RenderQuality getRenderQuality() {
+        return colorPanel.getRenderQuality();
+    }
+
+    private void applyRenderQuality() {
+        Object renderQuality = getClientProperty(RENDER_QUALITY_PROPERTY);
+        colorPanel.setRenderQuality(renderQuality instanceof RenderQuality ? (RenderQuality) renderQuality : RenderQuality.BALANCED);
+        slider.repaint();
+    }
+
     /**
      * @return the {@code ColorPickerPanel} this {@code ColorPicker} displays.
      */
@@ -654,7 +709,9 @@ public class ColorPicker extends JPanel {
         requireValidFloat(s, "saturation");
         requireValidFloat(b, "brightness");
 
-        setColor(Color.getHSBColor(h, s, b));
+        Color lastColor = colorModel.getColor();
+        colorModel.setHSB(h, s, b);
+        firePropertyChange(SELECTED_COLOR_PROPERTY, lastColor, colorModel.getColor());
     }
 
     /**
@@ -26,42 +26,59 @@ import static com.bric.colorpicker.ColorPickerMode.HUE;
 import static com.bric.colorpicker.ColorPickerMode.RED;
 import static com.bric.colorpicker.ColorPickerMode.SATURATION;
 
-import com.bric.colorpicker.colorslider.Painter;
 import com.bric.colorpicker.listeners.ColorListener;
 import com.bric.colorpicker.listeners.ColorListenerWrapper;
 import com.bric.colorpicker.listeners.ModeListener;
 import com.bric.colorpicker.listeners.RepaintFocusListener;
 import com.bric.colorpicker.models.ColorModel;
 import com.bric.colorpicker.models.ModeModel;
+import com.bric.colorpicker.rendering.AcceleratedFrame;
+import com.bric.colorpicker.rendering.PlaneCache;
+import com.bric.colorpicker.rendering.PlaneChrome;
+import com.bric.colorpicker.rendering.PlaneGeometry;
+import com.bric.colorpicker.rendering.PlanePrefetcher;
+import com.bric.colorpicker.rendering.PlaneRenderer;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
+import java.awt.DisplayMode;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Insets;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.awt.Shape;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
+import java.awt.event.FocusEvent;
 import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 import javax.swing.event.MouseInputAdapter;
 import javax.swing.event.MouseInputListener;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -93,57 +110,187 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ColorPickerPanel extends JPanel implements ColorListener, ModeListener {
     /**
-     * The maximum size the graphic will be.  No matter
-     * how big the panel becomes, the graphic will not exceed
-     * this length.
-     * <P>(This is enforced because only 1 BufferedImage is used
-     * to render the graphic.  This image is created once at a fixed
-     * size and is never replaced.)
+     * The maximum size the graphic used to have.
+     * <P>The graphic now grows with the panel and is rendered at the resolution
+     * of the screen, so this is no longer used.
+     *
+     * @deprecated the size of the graphic is no longer limited
      */
+    @Deprecated
     public static final int MAX_SIZE = 325;
 
     /**
-     * This controls how the colors are displayed.
+     * The size the preferred size of this panel is based on.
      */
-    private ColorPickerMode mode = BRIGHTNESS;
+    private static final int DEFAULT_SIZE = 325;
 
     /**
-     * The point used to indicate the selected color.
+     * The image buffers grow and shrink in steps of this many pixels, so that
+     * small changes of the size can reuse them.
      */
-    private Point point = new Point(0, 0);
+    private static final int BUFFER_GRANULARITY = 64;
 
-    private final Collection<ChangeListener> changeListeners = new ArrayList<>(1);
+    /**
+     * The smallest graphic that is worth splitting across several processors.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    /**
+     * The number of rows a single worker renders without splitting its band any further.
+     */
+    private static final int BAND_HEIGHT = 16;
+
+    /**
+     * Previews only render every second pixel in each direction, which is a quarter of the pixels.
+     */
+    private static final int PREVIEW_STEP = 2;
+
+    /**
+     * The default delay in milliseconds after which a preview is replaced by a full render.
+     */
+    private static final int DEFAULT_REFINEMENT_DELAY = 150;
+
+    /**
+     * How far the marker of the selected color reaches from its center, including its stroke.
+     */
+    private static final int MARKER_RADIUS = 5;
+
+    /**
+     * The delay in milliseconds after the last resize before the image is rendered at the new size.
+     */
+    private static final int RESIZE_DELAY = 100;
+
+    /**
+     * The delay in milliseconds between two applied drag positions if the refresh rate of the screen is unknown.
+     */
+    private static final int DEFAULT_FRAME_DELAY = 16;
+
+    /**
+     * The time in milliseconds an arrow key must be held before the marker speeds up.
+     */
+    private static final int KEY_ACCELERATION_DELAY = 400;
+
+    /**
+     * The time in milliseconds after which a held arrow key moves the marker one more pixel per repeat.
+     */
+    private static final int KEY_ACCELERATION_INTERVAL = 250;
 
-    /* Floats from [0,1].  They must be kept distinct, because
-     * when you convert them to RGB coordinates HSB(0,0,0) and HSB (.5,0,0)
-     * and then convert them back to HSB coordinates, the hue always shifts back to zero.
+    /**
+     * The most pixels a repeat of a held arrow key moves the marker without modifiers.
      */
-    private float hue = -1;
-    private float sat = -1;
-    private float bri = -1;
-    private int red = -1;
-    private int green = -1;
-    private int blue = -1;
+    private static final int MAX_KEY_SPEED = 8;
+
+    /**
+     * The cache all panels use unless another one is set.
+     */
+    private static final PlaneCache SHARED_PLANE_CACHE = new PlaneCache();
+
+    /**
+     * The background thread for asynchronous renders, shared by all panels.
+     */
+    private static final Executor RENDERER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ColorPickerPanel renderer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The mode, the selected color and the point used to indicate it. A change replaces
+     * the whole state, so that every thread reads a consistent view without locking.
+     */
+    private volatile State state = new State(BRIGHTNESS, -1, -1, -1, -1, -1, -1, new Point(0, 0));
+
+    private final Collection<ChangeListener> changeListeners = new ArrayList<>(1);
     private final FocusListener focusListener = new RepaintFocusListener(this);
-    private final BufferedImage image = new BufferedImage(MAX_SIZE, MAX_SIZE, BufferedImage.TYPE_INT_ARGB);
-    private final Insets imagePadding = new Insets(6, 6, 6, 6);
-    private final KeyListener keyListener = new ColorPickerKeyListener();
     /**
-     * A row of pixel data we recycle every time we regenerate this image.
+     * The image the graphic is rendered into, in device pixels. Its pixels are written directly
+     * through {@code pixels}, which prevents Java2D from accelerating it, so it is never painted itself.
+     */
+    private BufferedImage image = new BufferedImage(BUFFER_GRANULARITY, BUFFER_GRANULARITY, BufferedImage.TYPE_INT_ARGB);
+    /**
+     * The backing array of {@code image}. A row of the graphic starts every {@code stride} pixels.
      */
-    private final int[] row = new int[MAX_SIZE];
+    private int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    private int stride = image.getWidth();
+    /**
+     * A copy of the last complete frame of {@code image}, so that painting never has to
+     * wait for a render in progress.
+     */
+    private BufferedImage displayImage = new BufferedImage(BUFFER_GRANULARITY, BUFFER_GRANULARITY, BufferedImage.TYPE_INT_ARGB);
+    /**
+     * Keeps {@code displayImage} in video memory and only uploads it again after it changed.
+     */
+    private final AcceleratedFrame acceleratedFrame = new AcceleratedFrame();
+    private final PlaneChrome chrome = new PlaneChrome();
+    private final Insets imagePadding = new Insets(6, 6, 6, 6);
+    private final ColorPickerKeyListener keyListener = new ColorPickerKeyListener();
     private final MouseInputListener mouseListener = new ColorPickerMouseInputListener();
     private final ComponentListener componentListener = new ResizeListener();
     private final ColorListenerWrapper colorListenerWrapper;
+    private volatile boolean parallelRendering;
+    private volatile boolean asynchronousRendering;
+    /**
+     * Incremented for every requested render, so that outdated renders can be abandoned.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    /**
+     * The number of renders that were requested, including previews and renders served from the cache.
+     */
+    private final AtomicLong renderCount = new AtomicLong();
+    /**
+     * Guards {@code image} and the caches it is rendered from.
+     */
+    private final Object renderLock = new Object();
+    /**
+     * Guards {@code displayImage}, {@code acceleratedFrame} and {@code frameSize}.
+     */
+    private final Object frameLock = new Object();
+    /**
+     * The number of pixels per side of the image in {@code displayImage}. This is smaller
+     * than the graphic while a preview is shown, and the image is scaled up to fit.
+     */
+    private int frameSize;
+    /**
+     * The size in device pixels of the graphic that was requested last.
+     */
+    private volatile int requestedSize;
+    private volatile boolean progressiveRendering;
+    private volatile PlaneCache planeCache = SHARED_PLANE_CACHE;
+    private boolean valueIsAdjusting;
+    /**
+     * When the last render was requested, as returned by {@code System.nanoTime()}.
+     */
+    private long lastRenderRequest;
+    /**
+     * Renders the image at full resolution once the color stopped changing.
+     */
+    private final Timer refinementTimer = new Timer(DEFAULT_REFINEMENT_DELAY, e -> regenerateImage(false));
+    /**
+     * Renders the image at the new size once the panel stopped being resized.
+     */
+    private final Timer resizeTimer = new Timer(RESIZE_DELAY, e -> regenerateImage(false));
+    /**
+     * Applies the latest drag position once per frame of the screen.
+     */
+    private final Timer dragTimer = new Timer(DEFAULT_FRAME_DELAY, e -> applyPendingDrag());
+    /**
+     * The latest drag position that was not applied yet, or null.
+     */
+    private Point pendingDrag;
+    /**
+     * Renders the pixels of the image with the current render quality.
+     */
+    private volatile PlaneRenderer renderer = new PlaneRenderer();
+    /**
+     * Renders the graphic for upcoming values into {@code planeCache}.
+     */
+    private volatile PlanePrefetcher prefetcher = new PlanePrefetcher(renderer);
 
     /**
      * Creates a new {@code ColorPickerPanel}
      */
     public ColorPickerPanel() {
-        setMaximumSize(new Dimension(
-            MAX_SIZE + imagePadding.left + imagePadding.right,
-            MAX_SIZE + imagePadding.top + imagePadding.bottom));
-        setPreferredSize(new Dimension((int) (MAX_SIZE * 0.75), (int) (MAX_SIZE * 0.75)));
+        setPreferredSize(new Dimension((int) (DEFAULT_SIZE * 0.75), (int) (DEFAULT_SIZE * 0.75)));
 
         setRGB(0, 0, 0);
         addMouseListener(mouseListener);
@@ -151,12 +298,19 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
 
         setFocusable(true);
         addKeyListener(keyListener);
+        addFocusListener(keyListener);
         addFocusListener(focusListener);
 
         setCursor(Cursor.getPredefinedCursor(Cursor.CROSSHAIR_CURSOR));
         addComponentListener(componentListener);
 
-        colorListenerWrapper = ColorListenerWrapper.withListener(colorModel -> setRGB(colorModel.getRed(), colorModel.getGreen(), colorModel.getBlue()));
+        refinementTimer.setRepeats(false);
+        resizeTimer.setRepeats(false);
+
+        colorListenerWrapper = ColorListenerWrapper.withListener(colorModel -> {
+            float[] hsb = colorModel.getHSB();
+            setHSB(hsb[0], hsb[1], hsb[2], colorModel.getColor().getRGB());
+        });
 
     }
 
@@ -196,6 +350,22 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
         }
     }
 
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (chrome != null) {
+            chrome.invalidate();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        synchronized (frameLock) {
+            acceleratedFrame.flush();
+        }
+    }
+
     @Override
     public void paint(Graphics g) {
         super.paint(g);
@@ -206,44 +376,22 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
         g2.translate(getWidth() / 2 - size / 2, getHeight() / 2 - size / 2);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        Shape shape;
+        State current = state;
+        boolean round = SATURATION == current.getMode() || BRIGHTNESS == current.getMode();
+        chrome.paintUnderlay(g2, round, size, hasFocus());
 
-        if (SATURATION == mode || BRIGHTNESS == mode) {
-            shape = new Ellipse2D.Float(0, 0, size, size);
-        } else {
-            shape = new Rectangle(0, 0, size, size);
+        int deviceSize = toDeviceSize(size);
+        synchronized (frameLock) {
+            acceleratedFrame.paint(g2, displayImage, frameSize, size);
         }
-
-        Painter painter = new Painter();
-        painter.setGraphics2D(g2);
-
-        if (hasFocus()) {
-            painter.paintFocus(shape, 3);
-        }
-
-        if (!(shape instanceof Rectangle)) {
-            //paint a circular shadow
-            g2.translate(2, 2);
-            g2.setColor(new Color(0, 0, 0, 20));
-            g2.fill(new Ellipse2D.Float(-2, -2, size + 4, size + 4));
-            g2.setColor(new Color(0, 0, 0, 40));
-            g2.fill(new Ellipse2D.Float(-1, -1, size + 2, size + 2));
-            g2.setColor(new Color(0, 0, 0, 80));
-            g2.fill(new Ellipse2D.Float(0, 0, size, size));
-            g2.translate(-2, -2);
+        if (0 < deviceSize && deviceSize != requestedSize && !resizeTimer.isRunning()) {
+            // the screen resolution changed, for example because the window moved to another monitor
+            SwingUtilities.invokeLater(this::regenerateImage);
         }
 
-        g2.drawImage(image, 0, 0, size, size, 0, 0, size, size, null);
-
-        g2.setStroke(new BasicStroke(1));
-        if (shape instanceof Rectangle) {
-            Rectangle r = (Rectangle) shape;
-            painter.drawBevel(r);
-        } else {
-            g2.setColor(new Color(0, 0, 0, 120));
-            g2.draw(shape);
-        }
+        chrome.paintOverlay(g2, round, size);
 
+        Point point = current.getPoint();
         g2.setColor(Color.white);
         g2.setStroke(new BasicStroke(1));
         g2.draw(new Ellipse2D.Float(point.x - 3, point.y - 3, 6, 6));
@@ -262,13 +410,13 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
     public void setMode(ColorPickerMode mode) {
         Objects.requireNonNull(mode);
 
-        if (this.mode == mode) {
+        State current = state;
+        if (current.getMode() == mode) {
             return;
         }
 
-        this.mode = mode;
+        state = withCalculatedPoint(current.withMode(mode));
         regenerateImage();
-        regeneratePoint();
     }
 
     /**
@@ -293,36 +441,31 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
             throw new IllegalArgumentException("The blue value (" + b + ") must be between [0,255].");
         }
 
-        if (red != r || green != g || blue != b) {
+        State current = state;
+        if (current.getRed() != r || current.getGreen() != g || current.getBlue() != b) {
+            ColorPickerMode mode = current.getMode();
             if (RED == mode || GREEN == mode || BLUE == mode) {
-                int lastR = red;
-                int lastG = green;
-                int lastB = blue;
-                red = r;
-                green = g;
-                blue = b;
+                state = withCalculatedPoint(current.withRGB(r, g, b));
 
                 if (RED == mode) {
-                    if (lastR != r) {
+                    if (current.getRed() != r) {
                         regenerateImage();
                     }
                 } else if (GREEN == mode) {
-                    if (lastG != g) {
+                    if (current.getGreen() != g) {
                         regenerateImage();
                     }
                 } else if (BLUE == mode) {
-                    if (lastB != b) {
+                    if (current.getBlue() != b) {
                         regenerateImage();
                     }
                 }
             } else {
-                float[] hsb = new float[3];
-                Color.RGBtoHSB(r, g, b, hsb);
+                float[] hsb = Color.RGBtoHSB(r, g, b, null);
                 setHSB(hsb[0], hsb[1], hsb[2]);
                 return;
             }
-            regeneratePoint();
-            repaint();
+            repaintMarker(current.getPoint());
             fireChangeListeners();
         }
     }
@@ -332,7 +475,8 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
      * Each value is between [0,1].
      */
     public float[] getHSB() {
-        return new float[]{hue, sat, bri};
+        State current = state;
+        return new float[]{current.getHue(), current.getSat(), current.getBri()};
     }
 
     /**
@@ -340,109 +484,132 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
      * Each value is between [0,255].
      */
     public int[] getRGB() {
-        return new int[]{red, green, blue};
+        State current = state;
+        return new int[]{current.getRed(), current.getGreen(), current.getBlue()};
     }
 
     /**
-     * Returns the color at the indicated point in HSB values.
+     * Returns the color that clicking at the given point would select.
+     * <P>This doesn't allocate any objects and uses the same tables the graphic is
+     * rendered from, so it is cheap enough to be called for every mouse movement,
+     * for example to show a tooltip.
      *
-     * @param p a point relative to this panel.
-     * @return the HSB values at the point provided.
+     * @param x the x coordinate relative to this panel
+     * @param y the y coordinate relative to this panel
+     * @return the opaque ARGB value of the color at the given point.
      */
-    private float[] getHSB(Point p) {
-        if (RED == mode || GREEN == mode || BLUE == mode) {
-            int[] rgb = getRGB(p);
-            return Color.RGBtoHSB(rgb[0], rgb[1], rgb[2], null);
-        }
-
+    public int colorAt(int x, int y) {
+        State current = state;
         int size = calculateSize();
-        p.translate(-(getWidth() / 2 - size / 2), -(getHeight() / 2 - size / 2));
-        if (BRIGHTNESS == mode || SATURATION == mode) {
-            //the two circular views:
-            double radius = size / 2.0;
-            double x = p.getX() - size / 2.0;
-            double y = p.getY() - size / 2.0;
-            double r = StrictMath.sqrt(StrictMath.pow(x, 2.0) + StrictMath.pow(y, 2.0)) / radius;
-
-            if (1 < r) {
-                r = 1;
-            }
-
-            double theta = StrictMath.atan2(y, x) / (Math.PI * 2.0);
-            if (BRIGHTNESS == mode) {
-                return new float[]{
-                    (float) (theta + 0.25f),
-                    (float) r,
-                    bri};
-            }
-            return new float[]{
-                (float) (theta + 0.25f),
-                sat,
-                (float) r
-            };
-        }
-        float s = (float) p.x / size;
-        float b = (float) p.y / size;
-        if (0 > s) {
-            s = 0;
-        }
-        if (1 < s) {
-            s = 1;
+        if (0 >= size) {
+            return 0xff000000 | current.getRed() << 16 | current.getGreen() << 8 | current.getBlue();
         }
-        if (0 > b) {
-            b = 0;
+        int px = x - (getWidth() / 2 - size / 2);
+        int py = y - (getHeight() / 2 - size / 2);
+        switch (current.getMode()) {
+            case HUE:
+                return Color.HSBtoRGB(current.getHue(), toFraction(px, size), toFraction(py, size));
+            case SATURATION:
+                return Color.HSBtoRGB(wheelHueAt(px, py, size), current.getSat(), wheelRadiusAt(px, py, size));
+            case BRIGHTNESS:
+                return Color.HSBtoRGB(wheelHueAt(px, py, size), wheelRadiusAt(px, py, size), current.getBri());
+            case RED:
+                return 0xff000000 | current.getRed() << 16 | toChannel(px, size) << 8 | toChannel(py, size);
+            case GREEN:
+                return 0xff000000 | toChannel(px, size) << 16 | current.getGreen() << 8 | toChannel(py, size);
+            default:
+                return 0xff000000 | toChannel(px, size) << 16 | toChannel(py, size) << 8 | current.getBlue();
         }
-        if (1 < b) {
-            b = 1;
+    }
+
+    /**
+     * Selects the color at the given point.
+     *
+     * @param x the x coordinate relative to this panel
+     * @param y the y coordinate relative to this panel
+     */
+    private void selectColorAt(int x, int y) {
+        State current = state;
+        int size = calculateSize();
+        int px = x - (getWidth() / 2 - size / 2);
+        int py = y - (getHeight() / 2 - size / 2);
+        switch (current.getMode()) {
+            case HUE:
+                setHSB(current.getHue(), toFraction(px, size), toFraction(py, size));
+                break;
+            case SATURATION:
+                setHSB(wheelHueAt(px, py, size), current.getSat(), wheelRadiusAt(px, py, size));
+                break;
+            case BRIGHTNESS:
+                setHSB(wheelHueAt(px, py, size), wheelRadiusAt(px, py, size), current.getBri());
+                break;
+            case RED:
+                setRGB(current.getRed(), toChannel(px, size), toChannel(py, size));
+                break;
+            case GREEN:
+                setRGB(toChannel(px, size), current.getGreen(), toChannel(py, size));
+                break;
+            default:
+                setRGB(toChannel(px, size), toChannel(py, size), current.getBlue());
+                break;
         }
-        return new float[]{hue, s, b};
     }
 
-    private int calculateSize() {
-        return Math.min(MAX_SIZE, Math.min(getWidth() - imagePadding.left - imagePadding.right, getHeight() - imagePadding.top - imagePadding.bottom));
+    private static float toFraction(int p, int size) {
+        return Math.max(0, Math.min(1, (float) p / size));
+    }
+
+    private static int toChannel(int p, int size) {
+        return Math.max(0, Math.min(255, p * 255 / size));
     }
 
     /**
-     * Returns the color at the indicated point in RGB values.
-     *
-     * @param p a point relative to this panel.
-     * @return the RGB values at the point provided.
+     * @return the hue at a point relative to the graphic in the color wheel.
      */
-    private int[] getRGB(Point p) {
-        if (BRIGHTNESS == mode || SATURATION == mode || HUE == mode) {
-            float[] hsb = getHSB(p);
-            int rgb = Color.HSBtoRGB(hsb[0], hsb[1], hsb[2]);
-            int r = (rgb & 0xff0000) >> 16;
-            int g = (rgb & 0xff00) >> 8;
-            int b = rgb & 0xff;
-            return new int[]{r, g, b};
-        }
+    private float wheelHueAt(int px, int py, int size) {
+        int deviceSize = toDeviceSize(size);
+        return PlaneGeometry.calculateHue(deviceSize, toDevicePixel(px, size, deviceSize), toDevicePixel(py, size, deviceSize));
+    }
 
-        int size = calculateSize();
-        p.translate(-(getWidth() / 2 - size / 2), -(getHeight() / 2 - size / 2));
+    /**
+     * @return the distance of a point relative to the graphic from the center of the color wheel,
+     * where 1 is the edge of the wheel and points outside of it are moved onto the edge.
+     */
+    private float wheelRadiusAt(int px, int py, int size) {
+        int deviceSize = toDeviceSize(size);
+        return Math.min(1, PlaneGeometry.calculateRadius(deviceSize, toDevicePixel(px, size, deviceSize), toDevicePixel(py, size, deviceSize)));
+    }
 
-        int x2 = p.x * 255 / size;
-        int y2 = p.y * 255 / size;
-        if (0 > x2) {
-            x2 = 0;
-        }
-        if (255 < x2) {
-            x2 = 255;
-        }
-        if (0 > y2) {
-            y2 = 0;
-        }
-        if (255 < y2) {
-            y2 = 255;
+    /**
+     * Converts a coordinate relative to the graphic into the device pixel that covers it, so
+     * that the color of a point is the color the wheel is rendered with there. It is calculated
+     * for this pixel only, because looking it up in the geometry tables would calculate them
+     * on the event dispatch thread the first time a size is used.
+     */
+    private static int toDevicePixel(int p, int size, int deviceSize) {
+        if (0 >= size) {
+            return p;
         }
+        return (int) Math.floorDiv((long) p * deviceSize, size);
+    }
 
-        if (RED == mode) {
-            return new int[]{red, x2, y2};
-        }
-        if (GREEN == mode) {
-            return new int[]{x2, green, y2};
+    private int calculateSize() {
+        return Math.min(getWidth() - imagePadding.left - imagePadding.right, getHeight() - imagePadding.top - imagePadding.bottom);
+    }
+
+    /**
+     * Converts a length on this panel to device pixels, which differ on high resolution screens.
+     *
+     * @param size a length in user space
+     * @return the number of device pixels covered by the length
+     */
+    private int toDeviceSize(int size) {
+        GraphicsConfiguration graphicsConfiguration = getGraphicsConfiguration();
+        if (graphicsConfiguration == null) {
+            return size;
         }
-        return new int[]{x2, y2, blue};
+        double scale = graphicsConfiguration.getDefaultTransform().getScaleX();
+        return (int) Math.ceil(size * scale);
     }
 
     /**
@@ -457,6 +624,19 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
      * @param b the brightness value of the selected color.
      */
     public void setHSB(float h, float s, float b) {
+        setHSB(h, s, b, Color.HSBtoRGB(h, s, b));
+    }
+
+    /**
+     * Sets the selected color of this panel from both its HSB and its RGB values, so that
+     * neither is derived from the other in the mode the panel is in.
+     *
+     * @param h   the hue value of the selected color
+     * @param s   the saturation value of the selected color
+     * @param b   the brightness value of the selected color
+     * @param rgb the same color in RGB
+     */
+    private void setHSB(float h, float s, float b, int rgb) {
         //hue is cyclic: it can be any value
         h -= Math.floor(h);
 
@@ -467,165 +647,455 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
             throw new IllegalArgumentException("The brightness value (" + b + ") must be between [0,1]");
         }
 
-        if (hue != h || sat != s || bri != b) {
-            if (HUE == mode || BRIGHTNESS == mode || SATURATION == mode) {
-                float lastHue = hue;
-                float lastBri = bri;
-                float lastSat = sat;
-                hue = h;
-                sat = s;
-                bri = b;
-                if (HUE == mode) {
-                    if (lastHue != hue) {
-                        regenerateImage();
-                    }
-                } else if (SATURATION == mode) {
-                    if (lastSat != sat) {
-                        regenerateImage();
-                    }
-                } else if (BRIGHTNESS == mode) {
-                    if (lastBri != bri) {
-                        regenerateImage();
-                    }
+        int red = (rgb & 0xff0000) >> 16;
+        int green = (rgb & 0xff00) >> 8;
+        int blue = rgb & 0xff;
+        State current = state;
+        ColorPickerMode mode = current.getMode();
+        if (HUE != mode && BRIGHTNESS != mode && SATURATION != mode) {
+            setRGB(red, green, blue);
+            return;
+        }
+        if (current.getHue() != h || current.getSat() != s || current.getBri() != b) {
+            state = withCalculatedPoint(current.withHSB(h, s, b, red, green, blue));
+            if (HUE == mode) {
+                if (current.getHue() != h) {
+                    regenerateImage();
+                }
+            } else if (SATURATION == mode) {
+                if (current.getSat() != s) {
+                    regenerateImage();
+                }
+            } else if (BRIGHTNESS == mode) {
+                if (current.getBri() != b) {
+                    regenerateImage();
                 }
-            } else {
-
-                Color c = new Color(Color.HSBtoRGB(h, s, b));
-                setRGB(c.getRed(), c.getGreen(), c.getBlue());
-                return;
             }
 
-
-            Color c = new Color(Color.HSBtoRGB(hue, sat, bri));
-            red = c.getRed();
-            green = c.getGreen();
-            blue = c.getBlue();
-
-            regeneratePoint();
-            repaint();
+            repaintMarker(current.getPoint());
             fireChangeListeners();
         }
     }
 
+    /**
+     * Repaints the marker at its previous and its current position.
+     * <P>Changes of the graphic itself are repainted once it was rendered, so
+     * moving the marker over an unchanged graphic only repaints two small areas.
+     *
+     * @param previousPoint the point the marker was painted at before
+     */
+    private void repaintMarker(Point previousPoint) {
+        Rectangle bounds = getMarkerBounds(previousPoint).union(getMarkerBounds(state.getPoint()));
+        int size = calculateSize();
+        bounds.translate(getWidth() / 2 - size / 2, getHeight() / 2 - size / 2);
+        repaint(bounds);
+    }
+
+    /**
+     * @return the area the marker covers at a point relative to the graphic,
+     * including its antialiased edges.
+     */
+    private static Rectangle getMarkerBounds(Point p) {
+        return new Rectangle(p.x - MARKER_RADIUS, p.y - MARKER_RADIUS, 2 * MARKER_RADIUS + 1, 2 * MARKER_RADIUS + 1);
+    }
+
     /**
      * Recalculates the (x,y) point used to indicate the selected color.
      */
     private void regeneratePoint() {
-        int size = calculateSize();
-        if (HUE == mode || SATURATION == mode || BRIGHTNESS == mode) {
-            if (HUE == mode) {
-                point = new Point((int) (sat * size + 0.5), (int) (bri * size + 0.5));
-            } else if (SATURATION == mode) {
-                double theta = hue * 2 * Math.PI - Math.PI / 2;
-                if (0 > theta) {
-                    theta += 2 * Math.PI;
-                }
+        state = withCalculatedPoint(state);
+    }
 
-                double r = bri * size / 2;
-                point = new Point((int) (r * StrictMath.cos(theta) + 0.5 + size / 2.0), (int) (r * StrictMath.sin(theta) + 0.5 + size / 2.0));
-            } else if (BRIGHTNESS == mode) {
-                double theta = hue * 2 * Math.PI - Math.PI / 2;
-                if (0 > theta) {
-                    theta += 2 * Math.PI;
-                }
-                double r = sat * size / 2;
-                point = new Point((int) (r * StrictMath.cos(theta) + 0.5 + size / 2.0), (int) (r * StrictMath.sin(theta) + 0.5 + size / 2.0));
-            }
-        } else if (RED == mode) {
-            point = new Point((int) (green * size / 255.0f + 0.49f),
-                (int) (blue * size / 255.0f + 0.49f));
-        } else if (GREEN == mode) {
-            point = new Point((int) (red * size / 255.0f + 0.49f),
-                (int) (blue * size / 255.0f + 0.49f));
-        } else if (BLUE == mode) {
-            point = new Point((int) (red * size / 255.0f + 0.49f),
-                (int) (green * size / 255.0f + 0.49f));
+    /**
+     * @return the state with the point that indicates its color at the current size.
+     */
+    private State withCalculatedPoint(State state) {
+        return state.withPoint(calculatePoint(state, calculateSize()));
+    }
+
+    private static Point calculatePoint(State state, int size) {
+        switch (state.getMode()) {
+            case HUE:
+                return new Point((int) (state.getSat() * size + 0.5), (int) (state.getBri() * size + 0.5));
+            case SATURATION:
+                return calculateWheelPoint(state.getHue(), state.getBri(), size);
+            case BRIGHTNESS:
+                return calculateWheelPoint(state.getHue(), state.getSat(), size);
+            case RED:
+                return new Point((int) (state.getGreen() * size / 255.0f + 0.49f),
+                    (int) (state.getBlue() * size / 255.0f + 0.49f));
+            case GREEN:
+                return new Point((int) (state.getRed() * size / 255.0f + 0.49f),
+                    (int) (state.getBlue() * size / 255.0f + 0.49f));
+            default:
+                return new Point((int) (state.getRed() * size / 255.0f + 0.49f),
+                    (int) (state.getGreen() * size / 255.0f + 0.49f));
         }
     }
 
+    private static Point calculateWheelPoint(float hue, float radius, int size) {
+        double theta = hue * 2 * Math.PI - Math.PI / 2;
+        if (0 > theta) {
+            theta += 2 * Math.PI;
+        }
+        double r = radius * size / 2;
+        return new Point((int) (r * StrictMath.cos(theta) + 0.5 + size / 2.0), (int) (r * StrictMath.sin(theta) + 0.5 + size / 2.0));
+    }
+
     /**
      * Regenerates the image.
+     * <P>If asynchronous rendering is enabled, this only schedules the render and returns
+     * immediately. Otherwise the image is complete when this method returns.
      */
-    private synchronized void regenerateImage() {
-        int size = calculateSize();
+    private void regenerateImage() {
+        boolean preview = false;
+        if (progressiveRendering) {
+            long now = System.nanoTime();
+            preview = valueIsAdjusting || now - lastRenderRequest < TimeUnit.MILLISECONDS.toNanos(refinementTimer.getInitialDelay());
+            lastRenderRequest = now;
+            if (preview) {
+                refinementTimer.restart();
+            }
+        }
+        regenerateImage(preview);
+    }
 
-        if (BRIGHTNESS == mode || SATURATION == mode) {
-            float bri2 = bri;
-            float sat2 = sat;
-            float radius = size / 2.0f;
-            float k = 1.2f; //the number of pixels to antialias
-            for (int y = 0; y < size; y++) {
-                float y2 = y - size / 2.0f;
-                for (int x = 0; x < size; x++) {
-                    float x2 = x - size / 2.0f;
-                    double theta = StrictMath.atan2(y2, x2) - 3 * Math.PI / 2.0;
-                    if (0 > theta) {
-                        theta += 2 * Math.PI;
-                    }
+    /**
+     * Regenerates the image at full or reduced resolution.
+     *
+     * @param preview whether to render only every {@code PREVIEW_STEP}th pixel
+     */
+    private void regenerateImage(boolean preview) {
+        int size = toDeviceSize(calculateSize());
+        if (0 >= size) {
+            return;
+        }
+        requestedSize = size;
+
+        PlaneRenderer planeRenderer = renderer;
+        int step = Math.max(planeRenderer.getQuality().getStep(), preview ? PREVIEW_STEP : 1);
+        renderCount.incrementAndGet();
+        RenderRequest request = new RenderRequest(generation.incrementAndGet(), planeRenderer, state, size, step);
+        if (asynchronousRendering) {
+            RENDERER.execute(() -> render(request));
+        } else {
+            render(request);
+        }
+    }
 
-                    double r = Math.sqrt(x2 * x2 + y2 * y2);
-                    if (r <= radius) {
-                        float hue2;
-                        if (BRIGHTNESS == mode) {
-                            hue2 = (float) (theta / (2 * Math.PI));
-                            sat2 = (float) (r / radius);
-                        } else { //SATURATION
-                            hue2 = (float) (theta / (2 * Math.PI));
-                            bri2 = (float) (r / radius);
-                        }
-                        row[x] = Color.HSBtoRGB(hue2, sat2, bri2);
-                        if (r > radius - k) {
-                            int alpha = (int) (255 - 255 * (r - radius + k) / k);
-                            if (0 > alpha) {
-                                alpha = 0;
-                            }
-                            if (255 < alpha) {
-                                alpha = 255;
-                            }
-                            row[x] &= 0xffffff + (alpha << 24);
-                        }
-                    } else {
-                        row[x] = 0x00000000;
-                    }
-                }
-                image.getRaster().setDataElements(0, y, size, 1, row);
+    /**
+     * Renders the image for a request and publishes it, unless a newer request
+     * was made in the meantime.
+     *
+     * @param request the values to render the image for
+     */
+    private void render(RenderRequest request) {
+        synchronized (renderLock) {
+            if (isStale(request)) {
+                return;
             }
-        } else if (HUE == mode) {
-            float hue2 = hue;
-            for (int y = 0; y < size; y++) {
-                float y2 = (float) y / size;
-                for (int x = 0; x < size; x++) {
-                    float x2 = (float) x / size;
-                    row[x] = Color.HSBtoRGB(hue2, x2, y2);
+
+            PlaneCache cache = planeCache;
+            PlaneCache.Key key = cache != null && request.isFinal() ? request.getCacheKey() : null;
+            int[] cached = key != null ? cache.get(key) : null;
+            int frameSize = request.getFrameSize();
+            // sized for the whole graphic, so that switching between previews and full renders reuses the buffers
+            allocateImage(request.size);
+            if (cached != null) {
+                for (int y = 0; y < frameSize; y++) {
+                    System.arraycopy(cached, y * frameSize, pixels, y * stride, frameSize);
                 }
-                image.getRaster().setDataElements(0, y, image.getWidth(), 1, row);
-            }
-        } else { //mode is RED, GREEN, or BLUE
-            int red2 = red;
-            int green2 = green;
-            int blue2 = blue;
-            for (int y = 0; y < size; y++) {
-                float y2 = (float) y / size;
-                for (int x = 0; x < size; x++) {
-                    float x2 = (float) x / size;
-                    if (RED == mode) {
-                        green2 = (int) (x2 * 255 + 0.49);
-                        blue2 = (int) (y2 * 255 + 0.49);
-                    } else if (GREEN == mode) {
-                        red2 = (int) (x2 * 255 + 0.49);
-                        blue2 = (int) (y2 * 255 + 0.49);
-                    } else {
-                        red2 = (int) (x2 * 255 + 0.49);
-                        green2 = (int) (y2 * 255 + 0.49);
+            } else {
+                renderImage(request);
+                if (isStale(request)) {
+                    return;
+                }
+                if (key != null) {
+                    int[] plane = new int[frameSize * frameSize];
+                    for (int y = 0; y < frameSize; y++) {
+                        System.arraycopy(pixels, y * stride, plane, y * frameSize, frameSize);
                     }
-                    row[x] = 0xFF000000 + (red2 << 16) + (green2 << 8) + blue2;
+                    cache.put(key, plane);
                 }
-                image.getRaster().setDataElements(0, y, size, 1, row);
             }
+            publishImage(frameSize);
         }
         repaint();
     }
 
+    /**
+     * Renders the image for a request, or stops early once the request is stale.
+     *
+     * @param request the values to render the image for
+     */
+    private void renderImage(RenderRequest request) {
+        int frameSize = request.getFrameSize();
+        if (parallelRendering && PARALLEL_THRESHOLD <= frameSize) {
+            ForkJoinPool.commonPool().invoke(new RenderBandTask(request, 0, frameSize));
+        } else {
+            for (int y = 0; y < frameSize && !isStale(request); y += BAND_HEIGHT) {
+                renderRows(request, y, Math.min(frameSize, y + BAND_HEIGHT));
+            }
+        }
+    }
+
+    private boolean isStale(RenderRequest request) {
+        return generation.get() != request.generation;
+    }
+
+    /**
+     * Renders the rows {@code [fromY, toY)} of the image.
+     * <P>Row and column {@code n} of the image show the color at {@code n * request.step}
+     * on a graphic of {@code request.size} pixels.
+     *
+     * @param request the values to render the image for
+     * @param fromY   the first row to render
+     * @param toY     the row after the last row to render
+     */
+    private void renderRows(RenderRequest request, int fromY, int toY) {
+        request.renderer.renderRows(request.state.getPlaneMode(), request.getValue(), request.size, request.step, pixels, stride, fromY, toY);
+    }
+
+    /**
+     * Makes sure {@code image} can hold a graphic of the given size. The image is only
+     * replaced when the size needs a different multiple of {@code BUFFER_GRANULARITY}.
+     * Previews are rendered into its top left corner.
+     *
+     * @param size the width and height of the whole graphic in device pixels, even for a preview
+     */
+    private void allocateImage(int size) {
+        int capacity = (size + BUFFER_GRANULARITY - 1) / BUFFER_GRANULARITY * BUFFER_GRANULARITY;
+        if (image.getWidth() != capacity) {
+            image = new BufferedImage(capacity, capacity, BufferedImage.TYPE_INT_ARGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            stride = capacity;
+        }
+    }
+
+    /**
+     * Copies the freshly rendered pixels into the image that is painted.
+     *
+     * @param size the width and height of the rendered pixels
+     */
+    private void publishImage(int size) {
+        synchronized (frameLock) {
+            frameSize = size;
+            if (displayImage.getWidth() != image.getWidth()) {
+                displayImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            }
+            int[] displayPixels = ((DataBufferInt) displayImage.getRaster().getDataBuffer()).getData();
+            for (int y = 0; y < size; y++) {
+                System.arraycopy(pixels, y * stride, displayPixels, y * stride, size);
+            }
+            acceleratedFrame.invalidate();
+        }
+    }
+
+    /**
+     * Controls whether the graphic is rendered on all available processors.
+     * <P>When enabled, the image is split into horizontal bands that are rendered
+     * concurrently on the common {@code ForkJoinPool}. This method blocks until every
+     * band is finished, so the image is always complete when it is painted.
+     * <P>This is disabled by default. The {@code ColorPicker} enables it for its panel.
+     *
+     * @param parallelRendering whether to render the graphic in parallel
+     */
+    public void setParallelRendering(boolean parallelRendering) {
+        this.parallelRendering = parallelRendering;
+    }
+
+    /**
+     * @return whether the graphic is rendered on all available processors.
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean isParallelRendering() {
+        return parallelRendering;
+    }
+
+    /**
+     * Controls whether the graphic is rendered on a background thread.
+     * <P>When enabled, changing the color or the mode only schedules a render and
+     * returns immediately. The panel keeps painting the last completed image until the
+     * new one is finished. If the color changes again before that, the outdated render is
+     * abandoned, so only the latest request is ever shown.
+     * <P>This is disabled by default. The {@code ColorPicker} enables it for its panel.
+     *
+     * @param asynchronousRendering whether to render the graphic on a background thread
+     */
+    public void setAsynchronousRendering(boolean asynchronousRendering) {
+        this.asynchronousRendering = asynchronousRendering;
+    }
+
+    /**
+     * @return whether the graphic is rendered on a background thread.
+     * @see #setAsynchronousRendering(boolean)
+     */
+    public boolean isAsynchronousRendering() {
+        return asynchronousRendering;
+    }
+
+    /**
+     * Sets the cache that is consulted before the graphic is rendered, and that every
+     * full resolution graphic is added to.
+     * <P>By default all panels share one cache. Pass {@code null} to always render.
+     *
+     * @param planeCache the cache to use, or {@code null}
+     */
+    public void setPlaneCache(PlaneCache planeCache) {
+        this.planeCache = planeCache;
+    }
+
+    /**
+     * @return the cache of rendered graphics, or {@code null} if there is none.
+     * @see #setPlaneCache(PlaneCache)
+     */
+    public PlaneCache getPlaneCache() {
+        return planeCache;
+    }
+
+    /**
+     * Sets how accurately the graphic is rendered.
+     * <P>The default is {@code BALANCED}.
+     *
+     * @param renderQuality the quality to render the graphic with
+     */
+    public void setRenderQuality(RenderQuality renderQuality) {
+        Objects.requireNonNull(renderQuality);
+
+        if (renderer.getQuality() == renderQuality) {
+            return;
+        }
+
+        prefetcher.cancel();
+        PlaneRenderer planeRenderer = new PlaneRenderer(renderQuality);
+        renderer = planeRenderer;
+        prefetcher = new PlanePrefetcher(planeRenderer);
+        regenerateImage();
+    }
+
+    /**
+     * @return how accurately the graphic is rendered.
+     * @see #setRenderQuality(RenderQuality)
+     */
+    public RenderQuality getRenderQuality() {
+        return renderer.getQuality();
+    }
+
+    /**
+     * Renders the graphic for other values of the property that is held constant in the
+     * current mode into the {@link #setPlaneCache(PlaneCache) plane cache}, so that it can be
+     * shown without delay once the color changes to one of these values. This is meant for
+     * the values a slider is about to be dragged over.
+     * <P>The graphic is rendered on a background thread with the lowest priority. The values
+     * replace the ones that were passed before, and are dropped if this method is not called
+     * again for {@link PlanePrefetcher#IDLE_TIMEOUT} milliseconds. Nothing is rendered if
+     * there is no plane cache.
+     *
+     * @param values the values, most likely first: between [0,1] for hue, saturation and
+     *               brightness, and between [0,255] for red, green and blue
+     */
+    public void prefetch(float... values) {
+        PlaneCache cache = planeCache;
+        int size = requestedSize;
+        if (cache != null && 0 < size) {
+            prefetcher.prefetch(cache, state.getPlaneMode(), size, values);
+        }
+    }
+
+    /**
+     * Drops the values passed to {@link #prefetch(float...)} whose graphic was not rendered yet.
+     */
+    public void cancelPrefetch() {
+        prefetcher.cancel();
+    }
+
+    /**
+     * Controls whether the graphic is rendered at reduced resolution while the user
+     * is changing the color.
+     * <P>When enabled, the graphic is rendered with a quarter of its pixels and scaled up
+     * while {@link #setValueIsAdjusting(boolean) the value is adjusting}, or when it changes
+     * again within the {@link #setRefinementDelay(int) refinement delay}. Once the color did
+     * not change for the refinement delay, the graphic is rendered at full resolution.
+     * <P>This is disabled by default. The {@code ColorPicker} enables it for its panel.
+     *
+     * @param progressiveRendering whether to render previews during interaction
+     */
+    public void setProgressiveRendering(boolean progressiveRendering) {
+        this.progressiveRendering = progressiveRendering;
+        if (!progressiveRendering && refinementTimer.isRunning()) {
+            refinementTimer.stop();
+            regenerateImage(false);
+        }
+    }
+
+    /**
+     * @return whether the graphic is rendered at reduced resolution during interaction.
+     * @see #setProgressiveRendering(boolean)
+     */
+    public boolean isProgressiveRendering() {
+        return progressiveRendering;
+    }
+
+    /**
+     * Sets how long the color must stay unchanged before a preview is replaced by
+     * a full resolution render.
+     *
+     * @param refinementDelay the delay in milliseconds
+     * @see #setProgressiveRendering(boolean)
+     */
+    public void setRefinementDelay(int refinementDelay) {
+        if (0 > refinementDelay) {
+            throw new IllegalArgumentException("The refinement delay (" + refinementDelay + ") must not be negative.");
+        }
+        refinementTimer.setInitialDelay(refinementDelay);
+    }
+
+    /**
+     * @return the delay in milliseconds before a preview is replaced by a full resolution render.
+     * @see #setRefinementDelay(int)
+     */
+    public int getRefinementDelay() {
+        return refinementTimer.getInitialDelay();
+    }
+
+    /**
+     * Tells this panel that the user is in the middle of changing the color, for example
+     * by dragging a slider. This is set automatically while the mouse is dragged on this panel.
+     * <P>With progressive rendering, the graphic is only rendered at full resolution
+     * once the value stops adjusting.
+     *
+     * @param valueIsAdjusting whether the color is being adjusted
+     * @see #setProgressiveRendering(boolean)
+     */
+    public void setValueIsAdjusting(boolean valueIsAdjusting) {
+        if (this.valueIsAdjusting == valueIsAdjusting) {
+            return;
+        }
+        this.valueIsAdjusting = valueIsAdjusting;
+        if (!valueIsAdjusting && refinementTimer.isRunning()) {
+            refinementTimer.restart();
+        }
+    }
+
+    /**
+     * @return whether the color is being adjusted.
+     * @see #setValueIsAdjusting(boolean)
+     */
+    public boolean getValueIsAdjusting() {
+        return valueIsAdjusting;
+    }
+
+    /**
+     * Returns how often the graphic was rendered so far, including previews and graphics
+     * that were taken from the plane cache. Comparing the count before and after an
+     * action shows how many renders the action caused.
+     *
+     * @return the number of renders since this panel was created.
+     */
+    public long getRenderCount() {
+        return renderCount.get();
+    }
+
     @Override
     public void modeChanged(ModeModel modeModel) {
         setMode(modeModel.getMode());
@@ -640,7 +1110,27 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
         colorListenerWrapper.aboutToChangeValue();
     }
 
-    private class ColorPickerKeyListener extends KeyAdapter {
+    /**
+     * Moves the marker with the arrow keys.
+     * <P>Holding Shift or Alt moves it 5 pixels per key press, holding both moves it 10 pixels.
+     * A held key moves it faster the longer it is held. Key repeats are collected and the
+     * marker moves once per frame of the screen, like it does while the mouse is dragged.
+     * <P>Losing the focus counts as releasing the key, because the release is then
+     * delivered to another component.
+     */
+    private class ColorPickerKeyListener extends KeyAdapter implements FocusListener {
+        private final Timer moveTimer = new Timer(DEFAULT_FRAME_DELAY, e -> applyPendingMove());
+        /**
+         * When the arrow key was pressed first, as returned by {@code System.nanoTime()}, or 0 if none is held.
+         */
+        private long holdStart;
+        private int pendingDx;
+        private int pendingDy;
+        /**
+         * Whether holding a key made the value adjusting.
+         */
+        private boolean adjusting;
+
         @Override
         public void keyPressed(KeyEvent e) {
             int dx = 0;
@@ -654,56 +1144,299 @@ public class ColorPickerPanel extends JPanel implements ColorListener, ModeListe
             } else if (KeyEvent.VK_DOWN == e.getKeyCode()) {
                 dy = 1;
             }
+            if (0 == dx && 0 == dy) {
+                return;
+            }
             int multiplier = 1;
             if (e.isShiftDown() && e.isAltDown()) {
                 multiplier = 10;
             } else if (e.isShiftDown() || e.isAltDown()) {
                 multiplier = 5;
             }
-            if (0 != dx || 0 != dy) {
-                int size = calculateSize();
-
-                int offsetX = getWidth() / 2 - size / 2;
-                int offsetY = getHeight() / 2 - size / 2;
-                mouseListener.mousePressed(new MouseEvent(ColorPickerPanel.this,
-                    MouseEvent.MOUSE_PRESSED,
-                    System.currentTimeMillis(), 0,
-                    point.x + multiplier * dx + offsetX,
-                    point.y + multiplier * dy + offsetY,
-                    1, false
-                ));
+            long now = System.nanoTime();
+            if (0 == holdStart) {
+                holdStart = now;
+            } else {
+                adjusting = true;
+                setValueIsAdjusting(true);
+                multiplier *= getKeySpeed(TimeUnit.NANOSECONDS.toMillis(now - holdStart));
+            }
+            pendingDx += multiplier * dx;
+            pendingDy += multiplier * dy;
+            if (!moveTimer.isRunning()) {
+                applyPendingMove();
+                moveTimer.setDelay(getFrameDelay());
+                moveTimer.start();
             }
         }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            int keyCode = e.getKeyCode();
+            if (KeyEvent.VK_LEFT == keyCode || KeyEvent.VK_RIGHT == keyCode || KeyEvent.VK_UP == keyCode || KeyEvent.VK_DOWN == keyCode) {
+                release();
+            }
+        }
+
+        @Override
+        public void focusGained(FocusEvent e) {
+        }
+
+        @Override
+        public void focusLost(FocusEvent e) {
+            release();
+        }
+
+        /**
+         * Applies the pending movement and forgets the held key.
+         */
+        private void release() {
+            holdStart = 0;
+            applyPendingMove();
+            moveTimer.stop();
+            if (adjusting) {
+                adjusting = false;
+                setValueIsAdjusting(false);
+            }
+        }
+
+        /**
+         * Moves the marker by the keys pressed since the last frame, or stops once no key was pressed.
+         */
+        private void applyPendingMove() {
+            if (0 == pendingDx && 0 == pendingDy) {
+                moveTimer.stop();
+                return;
+            }
+            int size = calculateSize();
+            if (size > 0) {
+                Point point = state.getPoint();
+                selectColorAt(point.x + pendingDx + getWidth() / 2 - size / 2, point.y + pendingDy + getHeight() / 2 - size / 2);
+            }
+            pendingDx = 0;
+            pendingDy = 0;
+        }
+    }
+
+    /**
+     * @param heldMillis how long an arrow key has been held
+     * @return how many times as far a key repeat moves the marker as a single key press.
+     */
+    static int getKeySpeed(long heldMillis) {
+        if (heldMillis < KEY_ACCELERATION_DELAY) {
+            return 1;
+        }
+        return (int) Math.min(MAX_KEY_SPEED, 2 + (heldMillis - KEY_ACCELERATION_DELAY) / KEY_ACCELERATION_INTERVAL);
+    }
+
+    /**
+     * Applies the drag position that arrived since the last frame, or stops once the mouse stopped moving.
+     */
+    private void applyPendingDrag() {
+        Point point = pendingDrag;
+        pendingDrag = null;
+        if (point == null) {
+            dragTimer.stop();
+        } else if (calculateSize() > 0) {
+            selectColorAt(point.x, point.y);
+        }
+    }
+
+    /**
+     * @return the time in milliseconds between two frames of the screen this panel is shown on.
+     */
+    private int getFrameDelay() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        int refreshRate = configuration == null ? DisplayMode.REFRESH_RATE_UNKNOWN : configuration.getDevice().getDisplayMode().getRefreshRate();
+        return DisplayMode.REFRESH_RATE_UNKNOWN == refreshRate ? DEFAULT_FRAME_DELAY : Math.max(1, 1000 / refreshRate);
     }
 
+    /**
+     * Selects the color under the mouse.
+     * <P>Mice can report several hundred drag events per second, more than can be
+     * shown. The first one is applied right away, and after that only the latest
+     * position once per frame. The position the mouse is released at is always applied.
+     */
     private class ColorPickerMouseInputListener extends MouseInputAdapter {
+        private boolean dragged;
+
         @Override
         public void mousePressed(MouseEvent e) {
+            dragTimer.stop();
+            pendingDrag = null;
+            dragged = false;
             if (calculateSize() > 0) {
                 requestFocus();
-                Point p = e.getPoint();
-                if (BRIGHTNESS == mode || SATURATION == mode || HUE == mode) {
-                    float[] hsb = getHSB(p);
-                    setHSB(hsb[0], hsb[1], hsb[2]);
-                } else {
-                    int[] rgb = getRGB(p);
-                    setRGB(rgb[0], rgb[1], rgb[2]);
-                }
+                selectColorAt(e.getX(), e.getY());
             }
         }
 
         @Override
         public void mouseDragged(MouseEvent e) {
-            mousePressed(e);
+            setValueIsAdjusting(true);
+            dragged = true;
+            if (dragTimer.isRunning()) {
+                pendingDrag = e.getPoint();
+            } else if (calculateSize() > 0) {
+                selectColorAt(e.getX(), e.getY());
+                dragTimer.setDelay(getFrameDelay());
+                dragTimer.start();
+            }
+        }
+
+        @Override
+        public void mouseReleased(MouseEvent e) {
+            dragTimer.stop();
+            pendingDrag = null;
+            if (dragged && calculateSize() > 0) {
+                selectColorAt(e.getX(), e.getY());
+            }
+            dragged = false;
+            setValueIsAdjusting(false);
+        }
+    }
+
+    /**
+     * Renders a band of rows, splitting it in half until the bands are small enough.
+     */
+    private class RenderBandTask extends RecursiveAction {
+
+        private final RenderRequest request;
+        private final int fromY;
+        private final int toY;
+
+        RenderBandTask(RenderRequest request, int fromY, int toY) {
+            this.request = request;
+            this.fromY = fromY;
+            this.toY = toY;
+        }
+
+        @Override
+        protected void compute() {
+            if (isStale(request)) {
+                return;
+            }
+            if (toY - fromY <= BAND_HEIGHT) {
+                renderRows(request, fromY, toY);
+                return;
+            }
+            int middle = (fromY + toY) >>> 1;
+            invokeAll(new RenderBandTask(request, fromY, middle), new RenderBandTask(request, middle, toY));
+        }
+    }
+
+    /**
+     * The values an image is rendered for, captured when the render was requested.
+     */
+    @RequiredArgsConstructor
+    private static final class RenderRequest {
+        private final long generation;
+        private final PlaneRenderer renderer;
+        private final State state;
+        private final int size;
+        /**
+         * The distance between two rendered pixels, which is greater than 1 for previews.
+         */
+        private final int step;
+
+        int getFrameSize() {
+            return (size + step - 1) / step;
+        }
+
+        /**
+         * @return the value of the property that is held constant in the mode.
+         */
+        float getValue() {
+            switch (state.getMode()) {
+                case HUE:
+                    return state.getHue();
+                case SATURATION:
+                    return state.getSat();
+                case BRIGHTNESS:
+                    return state.getBri();
+                case RED:
+                    return state.getRed();
+                case GREEN:
+                    return state.getGreen();
+                default:
+                    return state.getBlue();
+            }
+        }
+
+        /**
+         * @return whether the image is rendered at the resolution of the render quality, rather than as a preview.
+         */
+        boolean isFinal() {
+            return renderer.getQuality().getStep() == step;
+        }
+
+        PlaneCache.Key getCacheKey() {
+            return new PlaneCache.Key(state.getPlaneMode(), getValue(), size, renderer.getQuality());
+        }
+    }
+
+    /**
+     * The mode, the selected color and the point that indicates it, which change together.
+     * <P>Hue, saturation and brightness are kept apart from red, green and blue, because
+     * converting HSB(0,0,0) and HSB(.5,0,0) to RGB and back shifts the hue to zero. In the
+     * RGB modes only red, green and blue are updated.
+     */
+    @Value
+    private static class State {
+        ColorPickerMode mode;
+        /* Floats from [0,1]. */
+        float hue;
+        float sat;
+        float bri;
+        int red;
+        int green;
+        int blue;
+        /**
+         * The point used to indicate the selected color, which must not be modified.
+         */
+        Point point;
+
+        /**
+         * @return the mode of the graphic, which is {@code BLUE} in {@code ALPHA} mode, like it always was.
+         */
+        ColorPickerMode getPlaneMode() {
+            return ColorPickerMode.ALPHA == mode ? BLUE : mode;
+        }
+
+        State withMode(ColorPickerMode mode) {
+            return new State(mode, hue, sat, bri, red, green, blue, point);
+        }
+
+        State withRGB(int red, int green, int blue) {
+            return new State(mode, hue, sat, bri, red, green, blue, point);
+        }
+
+        State withHSB(float hue, float sat, float bri, int red, int green, int blue) {
+            return new State(mode, hue, sat, bri, red, green, blue, point);
+        }
+
+        State withPoint(Point point) {
+            return new State(mode, hue, sat, bri, red, green, blue, point);
         }
     }
 
     private class ResizeListener extends ComponentAdapter {
 
+        /**
+         * Keeps showing the last image, scaled to the new size, until the panel stopped
+         * being resized for a moment. Only the first image is rendered right away.
+         */
         @Override
         public void componentResized(ComponentEvent e) {
             regeneratePoint();
-            regenerateImage();
+            int size = toDeviceSize(calculateSize());
+            if (size == requestedSize) {
+                resizeTimer.stop();
+            } else if (0 == requestedSize) {
+                regenerateImage();
+            } else {
+                resizeTimer.restart();
+            }
         }
 
     }
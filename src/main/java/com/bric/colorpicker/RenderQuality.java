@@ -0,0 +1,63 @@
+package com.bric.colorpicker;
+
+import com.bric.colorpicker.rendering.HsbConverter;
+import java.awt.Color;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * How accurately the {@code ColorPickerPanel} and the slider of the {@code ColorPicker}
+ * render their colors, traded off against how fast they render them.
+ *
+ * @see ColorPicker#setRenderQuality(RenderQuality)
+ */
+@RequiredArgsConstructor
+@Getter
+public enum RenderQuality {
+
+    /**
+     * Renders a quarter of the pixels and scales them up, converts colors with fixed-point
+     * arithmetic and doesn't antialias the edge of the wheel. This is meant for slow machines.
+     */
+    FAST(2, true, false),
+
+    /**
+     * Renders every pixel, converts colors with fixed-point arithmetic, which may differ by one
+     * level per channel, and antialiases the edge of the wheel. This is the default.
+     */
+    BALANCED(1, true, true),
+
+    /**
+     * Renders every pixel, converts colors with {@code Color.HSBtoRGB} and antialiases the edge
+     * of the wheel over 1.2 pixels.
+     */
+    EXACT(1, false, true);
+
+    /**
+     * The distance between two rendered pixels. The pixels in between repeat the last rendered one.
+     */
+    private final int step;
+
+    /**
+     * Whether colors are converted with fixed-point arithmetic instead of {@code Color.HSBtoRGB}.
+     */
+    private final boolean approximate;
+
+    /**
+     * Whether the edge of the wheel is antialiased.
+     */
+    private final boolean antialiased;
+
+    /**
+     * Converts a color from HSB to RGB as accurately as this quality requires.
+     *
+     * @param hue        the hue of the color
+     * @param saturation the saturation of the color between [0,1]
+     * @param brightness the brightness of the color between [0,1]
+     * @return the opaque ARGB value of the color.
+     */
+    public int hsbToRgb(float hue, float saturation, float brightness) {
+        return approximate ? HsbConverter.hsbToRgb(hue, saturation, brightness) : Color.HSBtoRGB(hue, saturation, brightness);
+    }
+
+}
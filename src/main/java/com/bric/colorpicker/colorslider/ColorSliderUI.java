@@ -22,6 +22,7 @@ package com.bric.colorpicker.colorslider;
 import com.bric.colorpicker.ColorPicker;
 import com.bric.colorpicker.ColorPickerMode;
 import com.bric.colorpicker.ColorPickerPanel;
+import com.bric.colorpicker.RenderQuality;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
@@ -31,11 +32,10 @@ import java.awt.Polygon;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.TexturePaint;
-import java.awt.Toolkit;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.image.BufferedImage;
-import java.awt.image.WritableRaster;
+import java.awt.image.DataBufferInt;
 import javax.swing.JSlider;
 import javax.swing.event.MouseInputAdapter;
 import javax.swing.plaf.basic.BasicSliderUI;
@@ -53,10 +53,13 @@ public class ColorSliderUI extends BasicSliderUI {
      */
     private static final int ARROW_HALF = 8;
 
-    private final int[] intArray = new int[Toolkit.getDefaultToolkit().getScreenSize().height];
+    /**
+     * A one pixel wide image of the track gradient. Its backing array {@code pixels} is
+     * written directly and the image is replaced whenever the track gets taller.
+     */
+    private BufferedImage image = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB);
 
-    private final BufferedImage image =
-        new BufferedImage(1, intArray.length, BufferedImage.TYPE_INT_RGB);
+    private int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
 
     /**
      * This overrides the default behavior for this color slider and sets the thumb to where the
@@ -100,7 +103,7 @@ public class ColorSliderUI extends BasicSliderUI {
     protected void calculateTrackRect() {
         super.calculateTrackRect();
         ColorPickerPanel cp = colorPicker.getColorPanel();
-        int size = Math.min(ColorPickerPanel.MAX_SIZE, Math.min(cp.getWidth(), cp.getHeight()));
+        int size = Math.min(cp.getWidth(), cp.getHeight());
         int max = slider.getHeight() - ARROW_HALF * 2 - 2;
         if (size > max) {
             size = max;
@@ -111,46 +114,57 @@ public class ColorSliderUI extends BasicSliderUI {
 
     @Override
     public synchronized void paintTrack(Graphics g) {
+        if (image.getHeight() < trackRect.height) {
+            image = new BufferedImage(1, trackRect.height, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        }
         ColorPickerMode mode = colorPicker.getMode();
+        RenderQuality quality = colorPicker.getRenderQuality();
+        int step = quality.getStep();
         if (mode == ColorPickerMode.HUE
             || mode == ColorPickerMode.BRIGHTNESS
             || mode == ColorPickerMode.SATURATION) {
             float[] hsb = colorPicker.getHSB();
             if (mode == ColorPickerMode.HUE) {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     float hue = (float) y / trackRect.height;
-                    intArray[y] = Color.HSBtoRGB(hue, 1, 1);
+                    pixels[y] = quality.hsbToRgb(hue, 1, 1);
                 }
             } else if (mode == ColorPickerMode.SATURATION) {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     float sat = 1 - (float) y / trackRect.height;
-                    intArray[y] = Color.HSBtoRGB(hsb[0], sat, hsb[2]);
+                    pixels[y] = quality.hsbToRgb(hsb[0], sat, hsb[2]);
                 }
             } else {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     float bri = 1 - (float) y / trackRect.height;
-                    intArray[y] = Color.HSBtoRGB(hsb[0], hsb[1], bri);
+                    pixels[y] = quality.hsbToRgb(hsb[0], hsb[1], bri);
                 }
             }
         } else {
             int[] rgb = colorPicker.getRGB();
             if (mode == ColorPickerMode.RED) {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     int red = 255 - (int) (y * 255 / trackRect.height + 0.49);
-                    intArray[y] = (red << 16) + (rgb[1] << 8) + rgb[2];
+                    pixels[y] = (red << 16) + (rgb[1] << 8) + rgb[2];
                 }
             } else if (mode == ColorPickerMode.GREEN) {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     int green = 255 - (int) (y * 255 / trackRect.height + 0.49);
-                    intArray[y] = (rgb[0] << 16) + (green << 8) + rgb[2];
+                    pixels[y] = (rgb[0] << 16) + (green << 8) + rgb[2];
                 }
             } else if (mode == ColorPickerMode.BLUE) {
-                for (int y = 0; y < trackRect.height; y++) {
+                for (int y = 0; y < trackRect.height; y += step) {
                     int blue = 255 - (int) (y * 255 / trackRect.height + 0.49);
-                    intArray[y] = (rgb[0] << 16) + (rgb[1] << 8) + blue;
+                    pixels[y] = (rgb[0] << 16) + (rgb[1] << 8) + blue;
                 }
             }
         }
+        if (1 < step) {
+            for (int y = 0; y < trackRect.height; y++) {
+                pixels[y] = pixels[y - y % step];
+            }
+        }
         Graphics2D g2 = (Graphics2D) g;
         Rectangle r = new Rectangle(6, trackRect.y, 14, trackRect.height);
 
@@ -161,8 +175,6 @@ public class ColorSliderUI extends BasicSliderUI {
             painter.paintFocus(r, 3);
         }
 
-        WritableRaster raster = image.getRaster();
-        raster.setDataElements(0, 0, 1, trackRect.height, intArray);
         Paint p = new TexturePaint(image, new Rectangle(0, trackRect.y, 1, image.getHeight()));
         g2.setPaint(p);
         g2.fillRect(r.x, r.y, r.width, r.height);
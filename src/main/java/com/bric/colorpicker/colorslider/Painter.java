@@ -56,13 +56,32 @@ public class Painter {
             new Color(0, 0, 0, 150)
     };
 
+    private static final Color FRAME = new Color(120, 120, 120);
+
+    private static final BasicStroke BEVEL_STROKE = new BasicStroke(1);
+
+    /**
+     * The focus color the shades in {@code focusColors} were derived from.
+     */
+    private static Color lastFocusColor;
+
+    /**
+     * Three shades of the focus color, each with decreasing opacity.
+     */
+    private static Color[] focusColors;
+
+    /**
+     * The strokes of the focus glow, indexed by their width.
+     */
+    private static final BasicStroke[] FOCUS_STROKES = new BasicStroke[16];
+
     /**
      * @return the color used to indicate when a component has
      * focus.  By default this uses the color (64,113,167), but you can
      * override this by calling:
      * <BR>{@code UIManager.put("focusRing",customColor);}
      */
-    private static Color getFocusRingColor() {
+    public static Color getFocusRingColor() {
         Color obj = UIManager.getColor("Focus.color");
         if (obj != null) {
             return obj;
@@ -89,39 +108,57 @@ public class Painter {
      * @param pixelSize the number of pixels the outline should cover.
      */
     public void paintFocus(Shape shape, int pixelSize) {
-        Color focusColor = getFocusRingColor();
-        graphics2D = (Graphics2D) graphics2D.create();
+        Color[] focusArray = getFocusColors(getFocusRingColor());
+        Graphics2D g = (Graphics2D) graphics2D.create();
         try {
-            Color[] focusArray = {
-                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 235 * focusColor.getAlpha() / 255),
-                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 130 * focusColor.getAlpha() / 255),
-                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 80 * focusColor.getAlpha() / 255)
-            };
-
             if (JVM.isUsingQuartz()) {
-                graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
             } else {
-                graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                graphics2D.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
             }
 
-            graphics2D.setStroke(new BasicStroke(2 * pixelSize + 1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            graphics2D.setColor(focusArray[2]);
-            graphics2D.draw(shape);
+            g.setStroke(getFocusStroke(2 * pixelSize + 1));
+            g.setColor(focusArray[2]);
+            g.draw(shape);
             if (2 * pixelSize + 1 > 0) {
-                graphics2D.setStroke(new BasicStroke(2 * pixelSize - 2 + 1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                graphics2D.setColor(focusArray[1]);
-                graphics2D.draw(shape);
+                g.setStroke(getFocusStroke(2 * pixelSize - 2 + 1));
+                g.setColor(focusArray[1]);
+                g.draw(shape);
             }
             if (2 * pixelSize - 4 + 1 > 0) {
-                graphics2D.setStroke(new BasicStroke(2 * pixelSize - 4 + 1, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-                graphics2D.setColor(focusArray[0]);
-                graphics2D.draw(shape);
+                g.setStroke(getFocusStroke(2 * pixelSize - 4 + 1));
+                g.setColor(focusArray[0]);
+                g.draw(shape);
             }
         } finally {
-            graphics2D.dispose();
+            g.dispose();
+        }
+    }
+
+    private static synchronized Color[] getFocusColors(Color focusColor) {
+        if (!focusColor.equals(lastFocusColor)) {
+            focusColors = new Color[]{
+                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 235 * focusColor.getAlpha() / 255),
+                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 130 * focusColor.getAlpha() / 255),
+                    new Color(focusColor.getRed(), focusColor.getGreen(), focusColor.getBlue(), 80 * focusColor.getAlpha() / 255)
+            };
+            lastFocusColor = focusColor;
+        }
+        return focusColors;
+    }
+
+    private static BasicStroke getFocusStroke(int width) {
+        if (0 > width || width >= FOCUS_STROKES.length) {
+            return new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        }
+        BasicStroke stroke = FOCUS_STROKES[width];
+        if (stroke == null) {
+            stroke = new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+            FOCUS_STROKES[width] = stroke;
         }
+        return stroke;
     }
 
     /**
@@ -134,14 +171,14 @@ public class Painter {
      * @param r the rectangle to paint.
      */
     public void drawBevel(Rectangle r) {
-        graphics2D.setStroke(new BasicStroke(1));
+        graphics2D.setStroke(BEVEL_STROKE);
         drawColors(BLACKS, r.x, r.y + r.height, r.x + r.width, r.y + r.height, SwingConstants.SOUTH);
         drawColors(BLACKS, r.x + r.width, r.y, r.x + r.width, r.y + r.height, SwingConstants.EAST);
 
         drawColors(WHITES, r.x, r.y, r.x + r.width, r.y, SwingConstants.NORTH);
         drawColors(WHITES, r.x, r.y, r.x, r.y + r.height, SwingConstants.WEST);
 
-        graphics2D.setColor(new Color(120, 120, 120));
+        graphics2D.setColor(FRAME);
         graphics2D.drawRect(r.x, r.y, r.width, r.height);
     }
 
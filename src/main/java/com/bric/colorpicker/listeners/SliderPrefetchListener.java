@@ -0,0 +1,101 @@
+package com.bric.colorpicker.listeners;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.ColorPickerPanel;
+import com.bric.colorpicker.models.ModeModel;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JSlider;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lets a {@link ColorPickerPanel} render the graphic for the values a slider is about to
+ * be dragged over, so that the graphic is ready once the slider is released.
+ * <P>The values are predicted from the direction and the speed of the drag. Prefetching
+ * stops as soon as the slider is released.
+ */
+@RequiredArgsConstructor
+public class SliderPrefetchListener implements ChangeListener {
+
+    /**
+     * The number of values that are prefetched at once, including the current value.
+     */
+    private static final int PREFETCHED_VALUES = 8;
+
+    /**
+     * How far ahead in milliseconds the values are predicted.
+     */
+    private static final int LOOKAHEAD = 200;
+
+    @NonNull
+    private final JSlider slider;
+
+    @NonNull
+    private final ColorPickerPanel colorPanel;
+
+    @NonNull
+    private final ModeModel modeModel;
+
+    private int lastValue;
+
+    private long lastTime;
+
+    /**
+     * The smoothed speed of the drag in slider values per millisecond.
+     */
+    private float velocity;
+
+    @Override
+    public void stateChanged(ChangeEvent e) {
+        ColorPickerMode mode = modeModel.getMode();
+        if (!slider.getValueIsAdjusting() || ColorPickerMode.ALPHA == mode) {
+            lastTime = 0;
+            velocity = 0;
+            colorPanel.cancelPrefetch();
+            return;
+        }
+
+        int value = slider.getValue();
+        long now = System.nanoTime();
+        if (0 != lastTime && value != lastValue) {
+            float elapsed = Math.max(1, TimeUnit.NANOSECONDS.toMillis(now - lastTime));
+            velocity = (velocity + (value - lastValue) / elapsed) / 2;
+        }
+        lastValue = value;
+        lastTime = now;
+
+        float[] values = new float[PREFETCHED_VALUES];
+        float distance = Math.max(PREFETCHED_VALUES - 1, Math.abs(velocity) * LOOKAHEAD);
+        for (int i = 0; i < values.length; i++) {
+            int offset = Math.round(i * distance / (values.length - 1));
+            int predicted;
+            if (0 < velocity) {
+                predicted = value + offset;
+            } else if (0 > velocity) {
+                predicted = value - offset;
+            } else {
+                // no direction yet, so alternate between both sides
+                predicted = value + (i + 1) / 2 * (0 == i % 2 ? 1 : -1);
+            }
+            predicted = Math.max(slider.getMinimum(), Math.min(slider.getMaximum(), predicted));
+            values[i] = toPlaneValue(mode, predicted);
+        }
+        colorPanel.prefetch(values);
+    }
+
+    /**
+     * Converts a slider value to the value the panel will show the graphic for. A hue at
+     * the maximum of the slider is wrapped to 0, like the panel does, so that its graphic is
+     * cached under the same value.
+     */
+    static float toPlaneValue(ColorPickerMode mode, int value) {
+        if (ColorPickerMode.RED == mode || ColorPickerMode.GREEN == mode || ColorPickerMode.BLUE == mode) {
+            return value;
+        }
+        float planeValue = value / (float) mode.getMax();
+        return ColorPickerMode.HUE == mode && 1 <= planeValue ? 0 : planeValue;
+    }
+
+}
@@ -6,11 +6,21 @@ import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collection;
 
+/**
+ * The selected color, which notifies its listeners of every change.
+ * <P>The color is kept in HSB with full precision alongside its RGB value, so that
+ * a hue, saturation or brightness that was set is returned unchanged, rather than
+ * derived from the rounded RGB value again.
+ */
 public class ColorModel {
 
     private final Collection<ColorListener> listeners = new ArrayList<>(6);
 
     private Color color = Color.GREEN;
+    /**
+     * The hue, saturation and brightness of {@code color}, each between [0,1].
+     */
+    private float[] hsb = Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
     private boolean changing;
 
     public void addColorListener(ColorListener changeListener) {
@@ -37,55 +47,61 @@ public class ColorModel {
         if (changing) {
             return;
         }
-        this.color = color;
+        setRGBColor(color);
         fireColorChanged();
     }
 
-    public float getHue() {
-        return getHSB()[0];
-    }
-
-    public void setHue(float hue) {
+    /**
+     * Sets the color from HSB values, which are kept as they are.
+     * <P>The hue is cyclic, so it is moved into [0,1). The saturation and the brightness
+     * are clamped to [0,1], like they are when they are converted to RGB.
+     *
+     * @param hue        the hue of the color
+     * @param saturation the saturation of the color between [0,1]
+     * @param brightness the brightness of the color between [0,1]
+     */
+    public void setHSB(float hue, float saturation, float brightness) {
         if (changing) {
             return;
         }
-        float[] hsb = getHSB();
-        color = Color.getHSBColor(hue, hsb[1], hsb[2]);
+        setHSBColor(hue, saturation, brightness);
         fireColorChanged();
     }
 
+    public float getHue() {
+        return hsb[0];
+    }
+
+    public void setHue(float hue) {
+        setHSB(hue, hsb[1], hsb[2]);
+    }
+
     public float getSaturation() {
-        return getHSB()[1];
+        return hsb[1];
     }
 
     public void setSaturation(float saturation) {
-        if (changing) {
-            return;
-        }
-        float[] hsb = getHSB();
-        color = Color.getHSBColor(hsb[0], saturation, hsb[2]);
-        fireColorChanged();
+        setHSB(hsb[0], saturation, hsb[2]);
     }
 
     public float getBrightness() {
-        return getHSB()[2];
+        return hsb[2];
     }
 
     public void setBrightness(float brightness) {
-        if (changing) {
-            return;
-        }
-        float[] hsb = getHSB();
-        color = Color.getHSBColor(hsb[0], hsb[1], brightness);
-        fireColorChanged();
+        setHSB(hsb[0], hsb[1], brightness);
     }
 
     public int[] getRGB() {
         return new int[]{getRed(), getGreen(), getBlue()};
     }
 
+    /**
+     * @return the hue, saturation and brightness of the color as they were set, or as derived
+     * from the RGB value if the color was set in RGB.
+     */
     public float[] getHSB() {
-        return Color.RGBtoHSB(getRed(), getGreen(), getBlue(), new float[3]);
+        return hsb.clone();
     }
 
     public int getAlpha() {
@@ -105,7 +121,7 @@ public class ColorModel {
         if (changing) {
             return;
         }
-        color = new Color(getRed(), getGreen(), blue);
+        setRGBColor(new Color(getRed(), getGreen(), blue));
         fireColorChanged();
     }
 
@@ -117,7 +133,7 @@ public class ColorModel {
         if (changing) {
             return;
         }
-        color = new Color(getRed(), green, getBlue());
+        setRGBColor(new Color(getRed(), green, getBlue()));
         fireColorChanged();
     }
 
@@ -129,11 +145,30 @@ public class ColorModel {
         if (changing) {
             return;
         }
-        color = new Color(red, getGreen(), getBlue());
+        setRGBColor(new Color(red, getGreen(), getBlue()));
         fireColorChanged();
     }
 
     public void removeColorListener(ColorListener listener) {
         listeners.remove(listener);
     }
+
+    /**
+     * Sets a color given in RGB. The HSB values are only derived again if the RGB value changed,
+     * so that for example the hue of a gray is kept.
+     */
+    private void setRGBColor(Color newColor) {
+        if ((color.getRGB() & 0xffffff) != (newColor.getRGB() & 0xffffff)) {
+            hsb = Color.RGBtoHSB(newColor.getRed(), newColor.getGreen(), newColor.getBlue(), null);
+        }
+        color = newColor;
+    }
+
+    private void setHSBColor(float hue, float saturation, float brightness) {
+        float h = hue - (float) Math.floor(hue);
+        float s = Math.max(0, Math.min(1, saturation));
+        float b = Math.max(0, Math.min(1, brightness));
+        color = new Color(Color.HSBtoRGB(h, s, b));
+        hsb = new float[]{h, s, b};
+    }
 }
@@ -0,0 +1,93 @@
+package com.bric.colorpicker.rendering;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Presents a software rendered image through a {@code VolatileImage}.
+ * <P>The software image is only copied into video memory after it was
+ * {@link #invalidate() invalidated}, or when the accelerated copy was lost or became
+ * incompatible with the screen. Every other paint is a single accelerated blit, which
+ * makes repaints that don't change the image cheap.
+ * <P>This class is not thread-safe. Callers have to make sure that the software image
+ * does not change while it is painted.
+ */
+public class AcceleratedFrame {
+
+    private VolatileImage volatileImage;
+
+    private boolean contentsChanged = true;
+
+    /**
+     * Marks the software image as changed, so that it is copied again on the next paint.
+     */
+    public void invalidate() {
+        contentsChanged = true;
+    }
+
+    /**
+     * Paints the top left corner of a software image, scaled to a square at the origin.
+     *
+     * @param g          the graphics to paint on
+     * @param source     the software rendered image
+     * @param sourceSize the width and height of the part of {@code source} to paint
+     * @param size       the width and height to paint the image with, in user space
+     */
+    public void paint(Graphics2D g, BufferedImage source, int sourceSize, int size) {
+        if (0 >= size || 0 >= sourceSize) {
+            return;
+        }
+        GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+        do {
+            if (volatileImage == null || volatileImage.getWidth() != size) {
+                createVolatileImage(graphicsConfiguration, size);
+            }
+            int status = volatileImage.validate(graphicsConfiguration);
+            if (VolatileImage.IMAGE_INCOMPATIBLE == status) {
+                createVolatileImage(graphicsConfiguration, size);
+            } else if (VolatileImage.IMAGE_RESTORED == status) {
+                contentsChanged = true;
+            }
+            if (contentsChanged) {
+                copy(source, sourceSize, size);
+            }
+            g.drawImage(volatileImage, 0, 0, null);
+        } while (volatileImage.contentsLost());
+    }
+
+    private void createVolatileImage(GraphicsConfiguration graphicsConfiguration, int size) {
+        if (volatileImage != null) {
+            volatileImage.flush();
+        }
+        volatileImage = graphicsConfiguration.createCompatibleVolatileImage(size, size, Transparency.TRANSLUCENT);
+        contentsChanged = true;
+    }
+
+    private void copy(BufferedImage source, int sourceSize, int size) {
+        Graphics2D g = volatileImage.createGraphics();
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, size, size, 0, 0, sourceSize, sourceSize, null);
+        } finally {
+            g.dispose();
+        }
+        contentsChanged = false;
+    }
+
+    /**
+     * Releases the video memory of the accelerated copy. It is recreated on the next paint.
+     */
+    public void flush() {
+        if (volatileImage != null) {
+            volatileImage.flush();
+            volatileImage = null;
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.bric.colorpicker.rendering;
+
+/**
+ * Converts colors from the HSB to the RGB color model without allocating objects
+ * or using floating point math in the inner loop.
+ * <P>This is meant as a drop-in replacement for {@code Color.HSBtoRGB} in code that
+ * converts many pixels at once. It uses 15 bit fixed-point arithmetic, so every channel
+ * may differ from the result of {@code Color.HSBtoRGB} by up to {@link #MAX_RGB_ERROR}.
+ * The selected color is converted with {@code java.awt.Color}, which is exact.
+ *
+ * @see java.awt.Color
+ */
+public final class HsbConverter {
+
+    /**
+     * The maximum difference of each color channel compared to {@code Color.HSBtoRGB}.
+     */
+    public static final int MAX_RGB_ERROR = 1;
+
+    /**
+     * The fixed-point representation of 1 used for hue and saturation.
+     */
+    static final int ONE = 1 << 15;
+
+    /**
+     * The number of fractional bits of the fixed-point brightness.
+     */
+    static final int BRIGHTNESS_SHIFT = 7;
+
+    /**
+     * The fixed-point representation of the brightness 1, which is 255 in RGB.
+     */
+    static final int MAX_BRIGHTNESS = 255 << BRIGHTNESS_SHIFT;
+
+    private HsbConverter() {
+    }
+
+    /**
+     * Converts a color from HSB to RGB.
+     *
+     * @param hue        the hue of the color. Only the fractional part is used, like in {@code Color.HSBtoRGB}.
+     * @param saturation the saturation of the color between [0,1]. Values outside this range are clamped.
+     * @param brightness the brightness of the color between [0,1]. Values outside this range are clamped.
+     * @return the opaque ARGB value of the color.
+     */
+    public static int hsbToRgb(float hue, float saturation, float brightness) {
+        return hsbToRgbFixed(toFixedHue(hue), toFixedSaturation(saturation), toFixedBrightness(brightness));
+    }
+
+    /**
+     * Converts a color from HSB in fixed-point representation to RGB.
+     *
+     * @param hue        the hue multiplied by {@code 6 * ONE}, between [0, 6 * ONE)
+     * @param saturation the saturation multiplied by {@code ONE}, between [0, ONE]
+     * @param brightness the brightness multiplied by {@code MAX_BRIGHTNESS}, between [0, MAX_BRIGHTNESS]
+     * @return the opaque ARGB value of the color.
+     */
+    static int hsbToRgbFixed(int hue, int saturation, int brightness) {
+        int sector = hue >> 15;
+        int fraction = hue & (ONE - 1);
+        int v = brightness;
+        int p = brightness * (ONE - saturation) >> 15;
+        int q = brightness * (ONE - (saturation * fraction >> 15)) >> 15;
+        int t = brightness * (ONE - (saturation * (ONE - fraction) >> 15)) >> 15;
+        switch (sector) {
+            case 0:
+                return pack(v, t, p);
+            case 1:
+                return pack(q, v, p);
+            case 2:
+                return pack(p, v, t);
+            case 3:
+                return pack(p, q, v);
+            case 4:
+                return pack(t, p, v);
+            default:
+                return pack(v, p, q);
+        }
+    }
+
+    /**
+     * Computes the fully saturated color of a hue at full brightness. Every color of
+     * the hue lies between this color, white and black, so it is enough to interpolate
+     * between them linearly.
+     *
+     * @param hue the hue multiplied by {@code 6 * ONE}, between [0, 6 * ONE)
+     * @param rgb the array to store the red, green and blue channel multiplied by {@code ONE} in
+     */
+    static void hueToRgbFixed(int hue, int[] rgb) {
+        int sector = hue >> 15;
+        int fraction = hue & (ONE - 1);
+        switch (sector) {
+            case 0:
+                setChannels(rgb, ONE, fraction, 0);
+                break;
+            case 1:
+                setChannels(rgb, ONE - fraction, ONE, 0);
+                break;
+            case 2:
+                setChannels(rgb, 0, ONE, fraction);
+                break;
+            case 3:
+                setChannels(rgb, 0, ONE - fraction, ONE);
+                break;
+            case 4:
+                setChannels(rgb, fraction, 0, ONE);
+                break;
+            default:
+                setChannels(rgb, ONE, 0, ONE - fraction);
+                break;
+        }
+    }
+
+    private static void setChannels(int[] rgb, int red, int green, int blue) {
+        rgb[0] = red;
+        rgb[1] = green;
+        rgb[2] = blue;
+    }
+
+    private static int pack(int red, int green, int blue) {
+        int round = 1 << (BRIGHTNESS_SHIFT - 1);
+        return 0xff000000
+            | ((red + round) >> BRIGHTNESS_SHIFT) << 16
+            | ((green + round) >> BRIGHTNESS_SHIFT) << 8
+            | (blue + round) >> BRIGHTNESS_SHIFT;
+    }
+
+    static int toFixedHue(float hue) {
+        if (0 > hue || 1 <= hue) {
+            hue -= (int) hue;
+            if (0 > hue) {
+                hue += 1;
+            }
+        }
+        int fixed = (int) (hue * (6 * ONE));
+        return fixed < 6 * ONE ? fixed : 0;
+    }
+
+    static int toFixedSaturation(float saturation) {
+        if (0 >= saturation) {
+            return 0;
+        }
+        if (1 <= saturation) {
+            return ONE;
+        }
+        return (int) (saturation * ONE + 0.5f);
+    }
+
+    static int toFixedBrightness(float brightness) {
+        if (0 >= brightness) {
+            return 0;
+        }
+        if (1 <= brightness) {
+            return MAX_BRIGHTNESS;
+        }
+        return (int) (brightness * MAX_BRIGHTNESS + 0.5f);
+    }
+
+}
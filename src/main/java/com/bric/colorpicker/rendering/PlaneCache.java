@@ -0,0 +1,208 @@
+package com.bric.colorpicker.rendering;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.RenderQuality;
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * A bounded cache of rendered color planes.
+ * <P>A plane only depends on the mode, the value of the property that is held constant
+ * in that mode and its size. Users tend to switch back and forth between a few modes and
+ * values, so keeping recent planes around saves most renders.
+ * <P>The cache evicts the least recently used planes once their total size exceeds the
+ * limit. It can additionally hold the planes through soft references, so the garbage
+ * collector may reclaim them when memory gets low.
+ * <P>This class is thread-safe.
+ */
+public class PlaneCache {
+
+    /**
+     * The default limit of 32 MB holds about 75 planes of 325x325 pixels.
+     */
+    public static final long DEFAULT_MAX_BYTES = 32L << 20;
+
+    @Getter
+    private final long maxBytes;
+
+    @Getter
+    private final boolean softReferences;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long bytes;
+
+    /**
+     * Creates a cache with the default limit that holds its planes through soft references.
+     */
+    public PlaneCache() {
+        this(DEFAULT_MAX_BYTES, true);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxBytes       the maximum number of bytes of all cached planes together
+     * @param softReferences whether the garbage collector may reclaim cached planes
+     */
+    public PlaneCache(long maxBytes, boolean softReferences) {
+        if (0 > maxBytes) {
+            throw new IllegalArgumentException("The maximum number of bytes (" + maxBytes + ") must not be negative.");
+        }
+        this.maxBytes = maxBytes;
+        this.softReferences = softReferences;
+    }
+
+    /**
+     * Returns a cached plane and marks it as recently used.
+     *
+     * @param key the key of the plane
+     * @return the ARGB pixels of the plane, indexed by {@code y * size + x}, or {@code null}
+     * if the plane is not cached. The array must not be modified.
+     */
+    public synchronized int[] get(@NonNull Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        int[] pixels = entry.getPixels();
+        if (pixels == null) {
+            remove(key);
+        }
+        return pixels;
+    }
+
+    /**
+     * Checks whether a plane is cached and marks it as recently used, so that planes
+     * which are about to be needed are evicted last.
+     *
+     * @param key the key of the plane
+     * @return whether the plane is cached.
+     */
+    public synchronized boolean contains(@NonNull Key key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Adds a plane to the cache and evicts the least recently used planes if the cache
+     * grows too large. Planes that are larger than the whole cache are not added.
+     *
+     * @param key    the key of the plane
+     * @param pixels the ARGB pixels of the plane, indexed by {@code y * size + x}.
+     *               The array must not be modified afterwards.
+     */
+    public synchronized void put(@NonNull Key key, @NonNull int[] pixels) {
+        long size = bytesOf(pixels);
+        remove(key);
+        if (size > maxBytes) {
+            return;
+        }
+        entries.put(key, new Entry(pixels, softReferences));
+        bytes += size;
+        evict();
+    }
+
+    /**
+     * @return the number of bytes of all cached planes together.
+     */
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Removes all planes from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            bytes -= entry.getBytes();
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            bytes -= entry.getBytes();
+        }
+    }
+
+    private static long bytesOf(int[] pixels) {
+        return (long) pixels.length * Integer.BYTES;
+    }
+
+    /**
+     * Identifies a plane.
+     */
+    @Value
+    @AllArgsConstructor
+    public static class Key {
+
+        /**
+         * The mode of the plane.
+         */
+        @NonNull
+        ColorPickerMode mode;
+
+        /**
+         * The value of the property that is held constant: between [0,1] for hue,
+         * saturation and brightness, and between [0,255] for red, green and blue.
+         */
+        float value;
+
+        /**
+         * The width and height of the plane in pixels.
+         */
+        int size;
+
+        /**
+         * The quality the plane was rendered with. The planes of a quality whose step is
+         * greater than 1 only hold every {@code step}th pixel in both directions.
+         */
+        @NonNull
+        RenderQuality quality;
+
+        /**
+         * Creates the key of a plane that was rendered with {@code BALANCED} quality.
+         *
+         * @param mode  the mode of the plane
+         * @param value the value of the property that is held constant
+         * @param size  the width and height of the plane in pixels
+         */
+        public Key(ColorPickerMode mode, float value, int size) {
+            this(mode, value, size, RenderQuality.BALANCED);
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final int[] strongPixels;
+        private final SoftReference<int[]> softPixels;
+        @Getter
+        private final long bytes;
+
+        Entry(int[] pixels, boolean soft) {
+            strongPixels = soft ? null : pixels;
+            softPixels = soft ? new SoftReference<>(pixels) : null;
+            bytes = bytesOf(pixels);
+        }
+
+        int[] getPixels() {
+            return softPixels == null ? strongPixels : softPixels.get();
+        }
+    }
+
+}
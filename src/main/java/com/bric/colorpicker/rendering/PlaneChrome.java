@@ -0,0 +1,166 @@
+package com.bric.colorpicker.rendering;
+
+import com.bric.colorpicker.colorslider.Painter;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import lombok.Value;
+
+/**
+ * Paints the static decoration around the color plane from cached images.
+ * <P>The decoration is split into an underlay, which holds the focus glow and the drop
+ * shadow of round planes, and an overlay, which holds the bevel of square planes or the
+ * outline of round planes. Each of them is rendered once per shape, size, focus color
+ * and screen scale, and then painted as a single image.
+ * <P>Call {@link #invalidate()} when the look and feel changes.
+ * <P>This class is not thread-safe. It is meant to be used on the event dispatch thread.
+ */
+public class PlaneChrome {
+
+    /**
+     * How far the decoration may reach beyond the plane, in user space.
+     */
+    public static final int MARGIN = 6;
+
+    private static final int FOCUS_SIZE = 3;
+
+    private static final int SHADOW_OFFSET = 2;
+
+    private static final Color[] SHADOWS = {
+        new Color(0, 0, 0, 20),
+        new Color(0, 0, 0, 40),
+        new Color(0, 0, 0, 80)
+    };
+
+    private static final Color OUTLINE = new Color(0, 0, 0, 120);
+
+    private static final BasicStroke OUTLINE_STROKE = new BasicStroke(1);
+
+    private final Painter painter = new Painter();
+
+    private Key underlayKey;
+    private BufferedImage underlay;
+    private Key overlayKey;
+    private BufferedImage overlay;
+
+    /**
+     * Paints the focus glow and the drop shadow of a plane at the origin.
+     *
+     * @param g       the graphics to paint on
+     * @param round   whether the plane is a circle instead of a square
+     * @param size    the width and height of the plane
+     * @param focused whether to paint the focus glow
+     */
+    public void paintUnderlay(Graphics2D g, boolean round, int size, boolean focused) {
+        if (0 >= size || !focused && !round) {
+            return;
+        }
+        Key key = new Key(round, size, scaleOf(g), focused ? Painter.getFocusRingColor() : null);
+        if (!key.equals(underlayKey)) {
+            underlay = createImage(key);
+            Graphics2D imageGraphics = createGraphics(underlay, key);
+            try {
+                Shape shape = createShape(round, size);
+                if (focused) {
+                    painter.setGraphics2D(imageGraphics);
+                    painter.paintFocus(shape, FOCUS_SIZE);
+                }
+                if (round) {
+                    imageGraphics.translate(SHADOW_OFFSET, SHADOW_OFFSET);
+                    for (int i = 0; i < SHADOWS.length; i++) {
+                        int inset = SHADOWS.length - 1 - i;
+                        imageGraphics.setColor(SHADOWS[i]);
+                        imageGraphics.fill(new Ellipse2D.Float(-inset, -inset, size + 2 * inset, size + 2 * inset));
+                    }
+                }
+            } finally {
+                imageGraphics.dispose();
+            }
+            underlayKey = key;
+        }
+        drawImage(g, underlay, key);
+    }
+
+    /**
+     * Paints the bevel or the outline of a plane at the origin.
+     *
+     * @param g     the graphics to paint on
+     * @param round whether the plane is a circle instead of a square
+     * @param size  the width and height of the plane
+     */
+    public void paintOverlay(Graphics2D g, boolean round, int size) {
+        if (0 >= size) {
+            return;
+        }
+        Key key = new Key(round, size, scaleOf(g), null);
+        if (!key.equals(overlayKey)) {
+            overlay = createImage(key);
+            Graphics2D imageGraphics = createGraphics(overlay, key);
+            try {
+                imageGraphics.setStroke(OUTLINE_STROKE);
+                if (round) {
+                    imageGraphics.setColor(OUTLINE);
+                    imageGraphics.draw(createShape(true, size));
+                } else {
+                    painter.setGraphics2D(imageGraphics);
+                    painter.drawBevel(new Rectangle(0, 0, size, size));
+                }
+            } finally {
+                imageGraphics.dispose();
+            }
+            overlayKey = key;
+        }
+        drawImage(g, overlay, key);
+    }
+
+    /**
+     * Discards the cached images, for example because the look and feel changed.
+     */
+    public void invalidate() {
+        underlayKey = null;
+        underlay = null;
+        overlayKey = null;
+        overlay = null;
+    }
+
+    private static Shape createShape(boolean round, int size) {
+        return round ? new Ellipse2D.Float(0, 0, size, size) : new Rectangle(0, 0, size, size);
+    }
+
+    private static double scaleOf(Graphics2D g) {
+        return g.getDeviceConfiguration().getDefaultTransform().getScaleX();
+    }
+
+    private static BufferedImage createImage(Key key) {
+        int imageSize = (int) Math.ceil((key.getSize() + 2 * MARGIN) * key.getScale());
+        return new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static Graphics2D createGraphics(BufferedImage image, Key key) {
+        Graphics2D g = image.createGraphics();
+        g.scale(key.getScale(), key.getScale());
+        g.translate(MARGIN, MARGIN);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g;
+    }
+
+    private static void drawImage(Graphics2D g, BufferedImage image, Key key) {
+        double scale = 1 / key.getScale();
+        g.drawImage(image, new AffineTransform(scale, 0, 0, scale, -MARGIN, -MARGIN), null);
+    }
+
+    @Value
+    private static class Key {
+        boolean round;
+        int size;
+        double scale;
+        Color focusColor;
+    }
+
+}
@@ -0,0 +1,252 @@
+package com.bric.colorpicker.rendering;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * The polar coordinates of every pixel of the color wheel that is shown in
+ * {@code BRIGHTNESS} and {@code SATURATION} mode.
+ * <P>The angle and the distance from the center of a pixel only depend on the size
+ * of the wheel, so they are computed once per size and shared by every render. The same
+ * holds for the part of each pixel the wheel covers, and for the pixels of each row that
+ * are not transparent, so that renders can skip the corners.
+ * <P>Only the tables the kernels read are kept, which are 12 bytes per pixel. All
+ * tables are indexed by {@code y * size + x} and must not be modified. They hold the
+ * coordinates in fixed point, so renders that need them with full precision calculate
+ * them with {@link #calculateHue(int, int, int)} and {@link #calculateRadius(int, int, int)}.
+ */
+public final class PlaneGeometry {
+
+    /**
+     * The number of pixels the opacity of {@link #calculateAlpha(int, int, int)} fades out
+     * over at the edge of the wheel.
+     */
+    private static final float ANTIALIAS_WIDTH = 1.2f;
+
+    /**
+     * The number of samples per pixel in each direction the coverage of edge pixels is measured with.
+     */
+    private static final int SUBSAMPLES = 4;
+
+    /**
+     * How many sizes are kept, so that a few panels of different sizes don't evict each other.
+     */
+    private static final int CACHED_SIZES = 2;
+
+    private static final Map<Integer, PlaneGeometry> CACHE = new LinkedHashMap<Integer, PlaneGeometry>(CACHED_SIZES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, PlaneGeometry> eldest) {
+            return size() > CACHED_SIZES;
+        }
+    };
+
+    @Getter
+    private final int size;
+
+    /**
+     * The first pixel of each row that is not transparent.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] spanStarts;
+
+    /**
+     * The pixel after the last pixel of each row that is not transparent.
+     * The row is transparent if this is not greater than its start.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] spanEnds;
+
+    /**
+     * The hue of each pixel in the fixed-point representation of {@link HsbConverter}.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] fixedHues;
+
+    /**
+     * The distance of each pixel from the center as a fixed-point brightness of
+     * {@link HsbConverter}, which is clamped to 1 outside the wheel.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] fixedRadii;
+
+    /**
+     * The mask to AND the opaque color of each pixel with to apply the part of the pixel
+     * that is covered by the wheel, which is measured with {@code SUBSAMPLES * SUBSAMPLES}
+     * samples per pixel. This is 0 for transparent pixels, so that they become transparent black.
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private final int[] alphaMasks;
+
+    private PlaneGeometry(int size) {
+        this.size = size;
+        int length = size * size;
+        spanStarts = new int[size];
+        spanEnds = new int[size];
+        fixedHues = new int[length];
+        fixedRadii = new int[length];
+        alphaMasks = new int[length];
+
+        float radius = size / 2.0f;
+        for (int y = 0; y < size; y++) {
+            float y2 = y - size / 2.0f;
+            int spanStart = size;
+            int spanEnd = 0;
+            for (int x = 0; x < size; x++) {
+                float x2 = x - size / 2.0f;
+                double r = Math.sqrt(x2 * x2 + y2 * y2);
+                int i = y * size + x;
+                fixedHues[i] = HsbConverter.toFixedHue(calculateHue(size, x, y));
+                fixedRadii[i] = HsbConverter.toFixedBrightness((float) (r / radius));
+                int covered = calculateCoverage(x2, y2, r, radius);
+                alphaMasks[i] = 0 == covered ? 0 : 0xffffff | covered << 24;
+                if (0 != covered) {
+                    spanStart = Math.min(spanStart, x);
+                    spanEnd = x + 1;
+                }
+            }
+            spanStarts[y] = spanStart;
+            spanEnds[y] = spanEnd;
+        }
+    }
+
+    /**
+     * @param index the index of a pixel
+     * @return the hue of the pixel, between [0,1), rounded to the fixed-point representation
+     * of {@link HsbConverter}.
+     */
+    public float getHue(int index) {
+        return fixedHues[index] / (float) (6 * HsbConverter.ONE);
+    }
+
+    /**
+     * @param index the index of a pixel
+     * @return the distance of the pixel from the center, where 1 is the edge of the wheel,
+     * rounded to the fixed-point representation of {@link HsbConverter}. Pixels outside the wheel return 1.
+     */
+    public float getRadius(int index) {
+        return fixedRadii[index] / (float) HsbConverter.MAX_BRIGHTNESS;
+    }
+
+    /**
+     * @param index the index of a pixel
+     * @return the part of the pixel that is covered by the wheel, between [0,255].
+     */
+    public int getCoverage(int index) {
+        return alphaMasks[index] >>> 24;
+    }
+
+    /**
+     * Calculates the hue of a pixel of a wheel with full precision.
+     *
+     * @param size the diameter of the wheel in pixels
+     * @param x    the column of the pixel
+     * @param y    the row of the pixel
+     * @return the hue of the pixel, between (-0.25,0.75]. It is not wrapped into [0,1),
+     * because {@code Color.HSBtoRGB} does that.
+     */
+    public static float calculateHue(int size, int x, int y) {
+        float x2 = x - size / 2.0f;
+        float y2 = y - size / 2.0f;
+        double theta = StrictMath.atan2(y2, x2) - 3 * Math.PI / 2.0;
+        if (0 > theta) {
+            theta += 2 * Math.PI;
+        }
+        return (float) (theta / (2 * Math.PI));
+    }
+
+    /**
+     * Calculates the distance of a pixel from the center of a wheel with full precision.
+     *
+     * @param size the diameter of the wheel in pixels
+     * @param x    the column of the pixel
+     * @param y    the row of the pixel
+     * @return the distance of the pixel from the center, where 1 is the edge of the wheel.
+     * Pixels outside the wheel return more than 1.
+     */
+    public static float calculateRadius(int size, int x, int y) {
+        float x2 = x - size / 2.0f;
+        float y2 = y - size / 2.0f;
+        return (float) (Math.sqrt(x2 * x2 + y2 * y2) / (size / 2.0f));
+    }
+
+    /**
+     * Calculates the opacity of a pixel of a wheel, which fades out linearly over the
+     * last 1.2 pixels inside the wheel. This is how the wheel was always antialiased,
+     * so {@code EXACT} renders keep using it instead of the coverage.
+     *
+     * @param size the diameter of the wheel in pixels
+     * @param x    the column of the pixel
+     * @param y    the row of the pixel
+     * @return the opacity of the pixel, between [0,255].
+     */
+    static int calculateAlpha(int size, int x, int y) {
+        float x2 = x - size / 2.0f;
+        float y2 = y - size / 2.0f;
+        double r = Math.sqrt(x2 * x2 + y2 * y2);
+        float radius = size / 2.0f;
+        if (r > radius) {
+            return 0;
+        }
+        if (r <= radius - ANTIALIAS_WIDTH) {
+            return 255;
+        }
+        int alpha = (int) (255 - 255 * (r - radius + ANTIALIAS_WIDTH) / ANTIALIAS_WIDTH);
+        return Math.max(0, Math.min(255, alpha));
+    }
+
+    /**
+     * Measures which part of the pixel around a point lies inside the wheel. Only pixels
+     * near the edge are sampled, because all others are either completely inside or outside.
+     */
+    private static int calculateCoverage(float x2, float y2, double r, float radius) {
+        if (r <= radius - 1) {
+            return 255;
+        }
+        if (r >= radius + 1) {
+            return 0;
+        }
+        double radiusSquared = (double) radius * radius;
+        int inside = 0;
+        for (int sy = 0; sy < SUBSAMPLES; sy++) {
+            double y = y2 + (sy + 0.5) / SUBSAMPLES - 0.5;
+            for (int sx = 0; sx < SUBSAMPLES; sx++) {
+                double x = x2 + (sx + 0.5) / SUBSAMPLES - 0.5;
+                if (x * x + y * y <= radiusSquared) {
+                    inside++;
+                }
+            }
+        }
+        return (inside * 255 + SUBSAMPLES * SUBSAMPLES / 2) / (SUBSAMPLES * SUBSAMPLES);
+    }
+
+    /**
+     * Returns the geometry of a wheel with the given diameter. The tables are only
+     * calculated the first time a size is requested.
+     * <P>The tables are calculated without holding the lock of the cache, so that threads
+     * that need a size that is already cached never wait for another size. Threads that
+     * request a new size at the same time may both calculate it, but only the first
+     * result is kept.
+     *
+     * @param size the diameter of the wheel in pixels
+     * @return the geometry for the given size
+     */
+    public static PlaneGeometry forSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("The size (" + size + ") must not be negative.");
+        }
+        synchronized (CACHE) {
+            PlaneGeometry geometry = CACHE.get(size);
+            if (geometry != null) {
+                return geometry;
+            }
+        }
+        PlaneGeometry geometry = new PlaneGeometry(size);
+        synchronized (CACHE) {
+            PlaneGeometry cached = CACHE.putIfAbsent(size, geometry);
+            return cached == null ? geometry : cached;
+        }
+    }
+
+}
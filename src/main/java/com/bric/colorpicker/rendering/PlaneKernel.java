@@ -0,0 +1,254 @@
+package com.bric.colorpicker.rendering;
+
+import java.util.Arrays;
+
+/**
+ * The inner loops that fill the pixels of a color plane.
+ * <P>Every method renders the rows {@code [fromY, toY)} of a frame into {@code pixels},
+ * where a row starts every {@code stride} pixels. A frame samples every {@code step}th
+ * pixel of a plane in both directions, so it is {@code (size + step - 1) / step} pixels wide.
+ * <P>This implementation converts one pixel at a time. On Java 17 and later, the
+ * multi-release JAR contains an implementation that converts a whole vector of pixels
+ * at once if the {@code jdk.incubator.vector} module is available, for example because
+ * the application was started with {@code --add-modules jdk.incubator.vector}. Both
+ * produce exactly the same pixels.
+ * <P>This class is thread-safe.
+ */
+public class PlaneKernel {
+
+    /**
+     * The number of fractional bits of the factor color channels are scaled with.
+     */
+    static final int BRIGHTNESS_FACTOR_SHIFT = 16;
+
+    /**
+     * The number of fractional bits of the channels that are interpolated across the square.
+     */
+    static final int GRADIENT_SHIFT = 16;
+
+    static final int GRADIENT_ROUND = 1 << (GRADIENT_SHIFT - 1);
+
+    private static final PlaneKernel INSTANCE = PlaneKernelFactory.create();
+
+    /**
+     * Use {@link #getInstance()}.
+     */
+    PlaneKernel() {
+    }
+
+    /**
+     * @return the fastest kernel that is available on this JVM.
+     */
+    public static PlaneKernel getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return whether this kernel converts several pixels with a single instruction.
+     */
+    public boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Scales the color channels of a wheel at full brightness, which keeps the hue and
+     * the saturation of each pixel, but changes its brightness. The transparent pixels
+     * in the corners are set to 0 without reading the wheel.
+     *
+     * @param wheel      the ARGB pixels of the wheel at full brightness, indexed by {@code y * size + x}
+     * @param geometry   the geometry of the wheel
+     * @param step       the distance between two sampled pixels of the wheel
+     * @param brightness the brightness between [0,1]
+     * @param pixels     the pixels of the frame
+     * @param stride     the distance between the rows of the frame
+     * @param fromY      the first row to render
+     * @param toY        the row after the last row to render
+     */
+    public void scaleBrightness(int[] wheel, PlaneGeometry geometry, int step, float brightness, int[] pixels, int stride, int fromY, int toY) {
+        int size = geometry.getSize();
+        int frameSize = frameSize(size, step);
+        int factor = toBrightnessFactor(brightness);
+        int[] scale = new int[256];
+        for (int c = 0; c < scale.length; c++) {
+            scale[c] = scaleChannel(c, factor);
+        }
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int fromX = getSpanStart(geometry, y, step);
+            int toX = getSpanEnd(geometry, y, step);
+            int i = y * step * size + fromX * step;
+            for (int x = fromX; x < toX; x++, i += step) {
+                int argb = wheel[i];
+                pixels[offset + x] = argb & 0xff000000
+                    | scale[argb >> 16 & 0xff] << 16
+                    | scale[argb >> 8 & 0xff] << 8
+                    | scale[argb & 0xff];
+            }
+            clearOutsideSpan(pixels, offset, fromX, toX, frameSize);
+        }
+    }
+
+    /**
+     * Combines a gradient of two color channels with the value of the third channel.
+     *
+     * @param gradient the ARGB pixels of the plane without the third channel, indexed by {@code y * size + x}
+     * @param size     the width and height of the plane
+     * @param step     the distance between two sampled pixels of the plane
+     * @param channel  the bits of the third channel, which are OR-ed into every pixel
+     * @param pixels   the pixels of the frame
+     * @param stride   the distance between the rows of the frame
+     * @param fromY    the first row to render
+     * @param toY      the row after the last row to render
+     */
+    public void addChannel(int[] gradient, int size, int step, int channel, int[] pixels, int stride, int fromY, int toY) {
+        int frameSize = frameSize(size, step);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int i = y * step * size;
+            for (int x = 0; x < frameSize; x++, i += step) {
+                pixels[offset + x] = gradient[i] | channel;
+            }
+        }
+    }
+
+    /**
+     * Renders the color wheel at a constant saturation, with the hue along the angle and
+     * the brightness along the radius. The transparent pixels in the corners are set to 0
+     * without converting them.
+     *
+     * @param geometry   the geometry of the wheel
+     * @param step       the distance between two sampled pixels of the wheel
+     * @param saturation the saturation between [0,1]
+     * @param pixels     the pixels of the frame
+     * @param stride     the distance between the rows of the frame
+     * @param fromY      the first row to render
+     * @param toY        the row after the last row to render
+     */
+    public void renderWheel(PlaneGeometry geometry, int step, float saturation, int[] pixels, int stride, int fromY, int toY) {
+        int size = geometry.getSize();
+        int frameSize = frameSize(size, step);
+        int fixedSaturation = HsbConverter.toFixedSaturation(saturation);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int fromX = getSpanStart(geometry, y, step);
+            int toX = getSpanEnd(geometry, y, step);
+            renderWheelRow(geometry, step, fixedSaturation, pixels, offset, y * step * size, fromX, toX);
+            clearOutsideSpan(pixels, offset, fromX, toX, frameSize);
+        }
+    }
+
+    /**
+     * @return the first column of a row of the frame that is not transparent.
+     */
+    static int getSpanStart(PlaneGeometry geometry, int y, int step) {
+        return (geometry.getSpanStarts()[y * step] + step - 1) / step;
+    }
+
+    /**
+     * @return the column after the last column of a row of the frame that is not transparent,
+     * which is never less than {@link #getSpanStart(PlaneGeometry, int, int)}.
+     */
+    static int getSpanEnd(PlaneGeometry geometry, int y, int step) {
+        return Math.max(getSpanStart(geometry, y, step), (geometry.getSpanEnds()[y * step] + step - 1) / step);
+    }
+
+    /**
+     * Sets the pixels of a row of the frame before and after its span to 0.
+     */
+    static void clearOutsideSpan(int[] pixels, int offset, int fromX, int toX, int frameSize) {
+        Arrays.fill(pixels, offset, offset + fromX, 0);
+        Arrays.fill(pixels, offset + toX, offset + frameSize, 0);
+    }
+
+    /**
+     * Renders the pixels {@code [fromX, toX)} of a row of the color wheel.
+     *
+     * @param offset the index of the first pixel of the row in {@code pixels}
+     * @param index  the index of the first pixel of the row in the geometry tables
+     */
+    void renderWheelRow(PlaneGeometry geometry, int step, int saturation, int[] pixels, int offset, int index, int fromX, int toX) {
+        int[] hues = geometry.getFixedHues();
+        int[] radii = geometry.getFixedRadii();
+        int[] alphaMasks = geometry.getAlphaMasks();
+        int i = index + fromX * step;
+        for (int x = fromX; x < toX; x++, i += step) {
+            pixels[offset + x] = HsbConverter.hsbToRgbFixed(hues[i], saturation, radii[i]) & alphaMasks[i];
+        }
+    }
+
+    /**
+     * Renders the square of a constant hue, with the saturation along the x axis and the
+     * brightness along the y axis.
+     * <P>With a constant hue, every channel is linear in the saturation and in the
+     * brightness. So each row starts with the gray of its brightness and every channel
+     * approaches the fully saturated color of the hue by a constant amount per pixel.
+     *
+     * @param hue    the hue between [0,1]
+     * @param size   the width and height of the plane
+     * @param step   the distance between two sampled pixels of the plane
+     * @param pixels the pixels of the frame
+     * @param stride the distance between the rows of the frame
+     * @param fromY  the first row to render
+     * @param toY    the row after the last row to render
+     */
+    public void renderSquare(float hue, int size, int step, int[] pixels, int stride, int fromY, int toY) {
+        int frameSize = frameSize(size, step);
+        int[] saturated = new int[3];
+        HsbConverter.hueToRgbFixed(HsbConverter.toFixedHue(hue), saturated);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int gray = toGradientBrightness(y * step, size);
+            int redSlope = toGradientSlope(gray, saturated[0], size, step);
+            int greenSlope = toGradientSlope(gray, saturated[1], size, step);
+            int blueSlope = toGradientSlope(gray, saturated[2], size, step);
+            int red = gray + GRADIENT_ROUND;
+            int green = red;
+            int blue = red;
+            for (int x = 0; x < frameSize; x++) {
+                pixels[offset + x] = packGradient(red, green, blue);
+                red -= redSlope;
+                green -= greenSlope;
+                blue -= blueSlope;
+            }
+        }
+    }
+
+    /**
+     * @return the gray of a row of the square, as a channel value with {@code GRADIENT_SHIFT} fractional bits.
+     */
+    static int toGradientBrightness(int y, int size) {
+        return (int) (((long) y * (255 << GRADIENT_SHIFT) + (size >> 1)) / size);
+    }
+
+    /**
+     * @param gray      the gray the row starts with
+     * @param saturated the channel of the fully saturated color multiplied by {@code HsbConverter.ONE}
+     * @return the amount the channel decreases per pixel of the frame, with {@code GRADIENT_SHIFT} fractional bits.
+     */
+    static int toGradientSlope(int gray, int saturated, int size, int step) {
+        return (int) ((long) gray * (HsbConverter.ONE - saturated) * step / ((long) size * HsbConverter.ONE));
+    }
+
+    /**
+     * Packs channels with {@code GRADIENT_SHIFT} fractional bits, which are between [0,256), into an opaque pixel.
+     */
+    static int packGradient(int red, int green, int blue) {
+        return 0xff000000 | red & 0xff0000 | green >> 8 & 0xff00 | blue >> GRADIENT_SHIFT;
+    }
+
+    /**
+     * @return the brightness as a fixed-point factor with {@code BRIGHTNESS_FACTOR_SHIFT} fractional bits.
+     */
+    static int toBrightnessFactor(float brightness) {
+        return (int) (Math.max(0, Math.min(1, brightness)) * (1 << BRIGHTNESS_FACTOR_SHIFT) + 0.5f);
+    }
+
+    static int scaleChannel(int channel, int factor) {
+        return channel * factor + (1 << (BRIGHTNESS_FACTOR_SHIFT - 1)) >> BRIGHTNESS_FACTOR_SHIFT;
+    }
+
+    static int frameSize(int size, int step) {
+        return (size + step - 1) / step;
+    }
+
+}
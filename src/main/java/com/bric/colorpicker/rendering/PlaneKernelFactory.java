@@ -0,0 +1,17 @@
+package com.bric.colorpicker.rendering;
+
+/**
+ * Creates the {@link PlaneKernel} for this JVM.
+ * <P>This class is replaced on Java 17 and later by the version in
+ * {@code META-INF/versions/17} of the multi-release JAR.
+ */
+final class PlaneKernelFactory {
+
+    private PlaneKernelFactory() {
+    }
+
+    static PlaneKernel create() {
+        return new PlaneKernel();
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.bric.colorpicker.rendering;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.RenderQuality;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Renders planes into a {@link PlaneCache} before they are needed, for example the
+ * planes of the slider values the user is about to drag over.
+ * <P>The planes are rendered one after another on a background thread with the lowest
+ * priority. Every call of {@link #prefetch(PlaneCache, ColorPickerMode, int, float...)}
+ * replaces the planes that were requested before. If it is not called again within
+ * {@link #IDLE_TIMEOUT} milliseconds, because the input stopped, the remaining planes
+ * are dropped.
+ * <P>The planes of a single request never take more than the memory budget, and never
+ * more than half of the cache, so prefetching can't evict the planes that are in use.
+ * If a single plane is larger than the budget, only the most likely plane is rendered,
+ * so that large planes are still prefetched as long as they fit into half of the cache.
+ * <P>This class is thread-safe.
+ */
+public class PlanePrefetcher {
+
+    /**
+     * The default budget of 8 MB holds about 20 planes of 325x325 pixels.
+     */
+    public static final long DEFAULT_MAX_BYTES = 8L << 20;
+
+    /**
+     * The time in milliseconds after a request when the planes that were not rendered yet are dropped.
+     */
+    public static final int IDLE_TIMEOUT = 250;
+
+    /**
+     * The number of rows rendered between checks whether the request was replaced.
+     */
+    private static final int BAND_HEIGHT = 32;
+
+    /**
+     * The background thread for all prefetchers, which only runs when no other thread needs the processor.
+     */
+    private static final Executor PREFETCHER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PlanePrefetcher");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final PlaneRenderer renderer;
+
+    @Getter
+    private final long maxBytes;
+
+    /**
+     * Incremented for every request and cancellation, so that outdated requests can be abandoned.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates a prefetcher with the default budget.
+     *
+     * @param renderer the renderer to render the planes with
+     */
+    public PlanePrefetcher(PlaneRenderer renderer) {
+        this(renderer, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a prefetcher.
+     *
+     * @param renderer the renderer to render the planes with
+     * @param maxBytes the maximum number of bytes of the planes of a single request together,
+     *                 or 0 to never prefetch any planes
+     */
+    public PlanePrefetcher(@NonNull PlaneRenderer renderer, long maxBytes) {
+        if (0 > maxBytes) {
+            throw new IllegalArgumentException("The maximum number of bytes (" + maxBytes + ") must not be negative.");
+        }
+        this.renderer = renderer;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Renders the planes for some values in the background and adds them to a cache.
+     * Planes that are already cached are skipped.
+     *
+     * @param cache  the cache to add the planes to
+     * @param mode   the mode of the planes, which must not be {@code ALPHA}
+     * @param size   the width and height of the planes in pixels
+     * @param values the values of the property that is held constant, most likely first.
+     *               Only as many as fit into the budget are rendered.
+     */
+    public void prefetch(@NonNull PlaneCache cache, @NonNull ColorPickerMode mode, int size, @NonNull float... values) {
+        PlaneRenderer.requirePlane(mode);
+        if (0 >= size) {
+            throw new IllegalArgumentException("The size (" + size + ") must be positive.");
+        }
+        long request = generation.incrementAndGet();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT);
+
+        RenderQuality quality = renderer.getQuality();
+        int frameSize = PlaneKernel.frameSize(size, quality.getStep());
+        long planeBytes = (long) frameSize * frameSize * Integer.BYTES;
+        long budget = Math.min(0 == maxBytes ? 0 : Math.max(maxBytes, planeBytes), cache.getMaxBytes() / 2);
+        List<PlaneCache.Key> keys = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length && (keys.size() + 1) * planeBytes <= budget; i++) {
+            PlaneCache.Key key = new PlaneCache.Key(mode, values[i], size, quality);
+            if (!keys.contains(key) && !cache.contains(key)) {
+                keys.add(key);
+            }
+        }
+        if (!keys.isEmpty()) {
+            PREFETCHER.execute(() -> render(cache, keys, request, deadline));
+        }
+    }
+
+    /**
+     * Drops the planes that were requested, but not rendered yet.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    private void render(PlaneCache cache, Iterable<PlaneCache.Key> keys, long request, long deadline) {
+        for (PlaneCache.Key key : keys) {
+            if (isStale(request, deadline)) {
+                return;
+            }
+            if (cache.contains(key)) {
+                continue;
+            }
+            int step = key.getQuality().getStep();
+            int frameSize = PlaneKernel.frameSize(key.getSize(), step);
+            int[] pixels = new int[frameSize * frameSize];
+            for (int y = 0; y < frameSize; y += BAND_HEIGHT) {
+                if (isStale(request, deadline)) {
+                    return;
+                }
+                renderer.renderRows(key.getMode(), key.getValue(), key.getSize(), step, pixels, frameSize, y, Math.min(frameSize, y + BAND_HEIGHT));
+            }
+            cache.put(key, pixels);
+        }
+    }
+
+    private boolean isStale(long request, long deadline) {
+        return generation.get() != request || 0 < System.nanoTime() - deadline;
+    }
+
+}
@@ -0,0 +1,363 @@
+package com.bric.colorpicker.rendering;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.RenderQuality;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Renders the color planes that the {@code ColorPickerPanel} shows.
+ * <P>In {@code SATURATION} and {@code BRIGHTNESS} mode the plane is a wheel, with the hue
+ * along the angle. In {@code HUE}, {@code RED}, {@code GREEN} and {@code BLUE} mode it is a
+ * square. The property that the mode is named after is held constant at the given value.
+ * {@code ALPHA} mode has no plane.
+ * <P>This class doesn't use any AWT components, so it also works in headless
+ * environments. It keeps the intermediate results of the last size it rendered, so
+ * reusing one instance for planes of the same size is faster.
+ * <P>This class is thread-safe.
+ */
+public class PlaneRenderer {
+
+    /**
+     * Pixels of the wheel with at least this opacity become opaque when it is not antialiased.
+     */
+    private static final int OPAQUE_THRESHOLD = 128;
+
+    private final PlaneKernel kernel = PlaneKernel.getInstance();
+
+    /**
+     * How accurately the planes are rendered.
+     */
+    @Getter
+    private final RenderQuality quality;
+
+    private volatile Plane brightnessWheel;
+
+    private volatile Plane channelGradient;
+
+    /**
+     * Creates a renderer with {@code BALANCED} quality.
+     */
+    public PlaneRenderer() {
+        this(RenderQuality.BALANCED);
+    }
+
+    /**
+     * Creates a renderer.
+     *
+     * @param quality how accurately the planes are rendered
+     */
+    public PlaneRenderer(@NonNull RenderQuality quality) {
+        this.quality = quality;
+    }
+
+    /**
+     * Renders a whole plane into an array.
+     * <P>If the step of the quality is greater than 1, only every {@code step}th pixel is
+     * rendered and the pixels in between repeat it.
+     *
+     * @param mode   the mode of the plane, which must not be {@code ALPHA}
+     * @param value  the value of the property that is held constant: between [0,1] for hue,
+     *               saturation and brightness, and between [0,255] for red, green and blue
+     * @param size   the width and height of the plane in pixels
+     * @param pixels the array to store the ARGB pixels in, indexed by {@code y * stride + x}
+     * @param stride the distance between the rows in {@code pixels}
+     */
+    public void render(@NonNull ColorPickerMode mode, float value, int size, @NonNull int[] pixels, int stride) {
+        if (size > stride) {
+            throw new IllegalArgumentException("The stride (" + stride + ") must be at least " + size + ".");
+        }
+        if (0 < size && (long) (size - 1) * stride + size > pixels.length) {
+            throw new IllegalArgumentException("The array (" + pixels.length + ") is too small for the plane.");
+        }
+        int step = quality.getStep();
+        renderRows(mode, value, size, step, pixels, stride, 0, PlaneKernel.frameSize(size, step));
+        if (1 < step) {
+            // from the end, so that the rendered pixels are read before they are overwritten
+            for (int y = size - 1; 0 <= y; y--) {
+                int offset = y * stride;
+                int frameOffset = y / step * stride;
+                for (int x = size - 1; 0 <= x; x--) {
+                    pixels[offset + x] = pixels[frameOffset + x / step];
+                }
+            }
+        }
+    }
+
+    /**
+     * Renders a whole plane into the top left corner of an image.
+     * <P>Images of {@code TYPE_INT_ARGB} are written directly, which keeps Java2D from
+     * accelerating them. Other images are converted with {@code setRGB}.
+     *
+     * @param mode  the mode of the plane, which must not be {@code ALPHA}
+     * @param value the value of the property that is held constant: between [0,1] for hue,
+     *              saturation and brightness, and between [0,255] for red, green and blue
+     * @param size  the width and height of the plane in pixels
+     * @param image the image to render into. It must be at least {@code size} pixels wide and high.
+     */
+    public void render(@NonNull ColorPickerMode mode, float value, int size, @NonNull BufferedImage image) {
+        if (image.getWidth() < size || image.getHeight() < size) {
+            throw new IllegalArgumentException("The image (" + image.getWidth() + "x" + image.getHeight()
+                + ") must be at least " + size + "x" + size + " pixels.");
+        }
+        WritableRaster raster = image.getRaster();
+        if (BufferedImage.TYPE_INT_ARGB == image.getType()
+            && raster.getDataBuffer() instanceof DataBufferInt
+            && raster.getSampleModel() instanceof SinglePixelPackedSampleModel
+            && 0 == raster.getSampleModelTranslateX()
+            && 0 == raster.getSampleModelTranslateY()
+            && 0 == raster.getDataBuffer().getOffset()) {
+            int stride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+            render(mode, value, size, ((DataBufferInt) raster.getDataBuffer()).getData(), stride);
+        } else {
+            int[] pixels = new int[size * size];
+            render(mode, value, size, pixels, size);
+            image.setRGB(0, 0, size, size, pixels, 0, size);
+        }
+    }
+
+    /**
+     * Renders some rows of a plane, or of a preview of it that only samples some of its
+     * pixels. Rendering separate rows on several threads at once is allowed.
+     * <P>The step is used as it is, even if the step of the quality is greater.
+     * <P>Row and column {@code n} of the result show the color at {@code n * step} of the
+     * plane, so the result is {@code (size + step - 1) / step} pixels wide.
+     *
+     * @param mode   the mode of the plane, which must not be {@code ALPHA}
+     * @param value  the value of the property that is held constant: between [0,1] for hue,
+     *               saturation and brightness, and between [0,255] for red, green and blue
+     * @param size   the width and height of the plane in pixels
+     * @param step   the distance between two sampled pixels of the plane, which is 1 to sample all of them
+     * @param pixels the array to store the ARGB pixels in, indexed by {@code y * stride + x}
+     * @param stride the distance between the rows in {@code pixels}
+     * @param fromY  the first row to render
+     * @param toY    the row after the last row to render
+     */
+    public void renderRows(@NonNull ColorPickerMode mode, float value, int size, int step, @NonNull int[] pixels, int stride, int fromY, int toY) {
+        requirePlane(mode);
+        if (0 > size) {
+            throw new IllegalArgumentException("The size (" + size + ") must not be negative.");
+        }
+        if (1 > step) {
+            throw new IllegalArgumentException("The step (" + step + ") must be at least 1.");
+        }
+        int frameSize = PlaneKernel.frameSize(size, step);
+        if (frameSize > stride) {
+            throw new IllegalArgumentException("The stride (" + stride + ") must be at least " + frameSize + ".");
+        }
+        if (0 > fromY || fromY > toY || toY > frameSize) {
+            throw new IllegalArgumentException("The rows [" + fromY + "," + toY + ") must be between [0," + frameSize + "].");
+        }
+        if (fromY < toY && (long) (toY - 1) * stride + frameSize > pixels.length) {
+            throw new IllegalArgumentException("The array (" + pixels.length + ") is too small for the rows.");
+        }
+
+        if (!quality.isApproximate() && (ColorPickerMode.HUE == mode || ColorPickerMode.SATURATION == mode || ColorPickerMode.BRIGHTNESS == mode)) {
+            renderExactRows(mode, value, size, step, pixels, stride, fromY, toY);
+        } else {
+            renderApproximateRows(mode, value, size, step, pixels, stride, fromY, toY);
+        }
+        if (!quality.isAntialiased() && ColorPickerMode.SATURATION == mode) {
+            removeAntialiasing(pixels, stride, frameSize, fromY, toY);
+        }
+    }
+
+    /**
+     * Throws an exception if a mode has no plane.
+     *
+     * @param mode the mode of the plane
+     */
+    static void requirePlane(ColorPickerMode mode) {
+        if (ColorPickerMode.ALPHA == mode) {
+            throw new IllegalArgumentException("The mode (" + mode + ") must have a plane.");
+        }
+    }
+
+    private void renderApproximateRows(ColorPickerMode mode, float value, int size, int step, int[] pixels, int stride, int fromY, int toY) {
+        switch (mode) {
+            case HUE:
+                kernel.renderSquare(value, size, step, pixels, stride, fromY, toY);
+                break;
+            case SATURATION:
+                kernel.renderWheel(PlaneGeometry.forSize(size), step, value, pixels, stride, fromY, toY);
+                break;
+            case BRIGHTNESS:
+                kernel.scaleBrightness(getBrightnessWheel(size, quality.isAntialiased()), PlaneGeometry.forSize(size), step, value, pixels, stride, fromY, toY);
+                break;
+            case RED:
+                kernel.addChannel(getChannelGradient(mode, size), size, step, toChannel(value) << 16, pixels, stride, fromY, toY);
+                break;
+            case GREEN:
+                kernel.addChannel(getChannelGradient(mode, size), size, step, toChannel(value) << 8, pixels, stride, fromY, toY);
+                break;
+            default:
+                kernel.addChannel(getChannelGradient(mode, size), size, step, toChannel(value), pixels, stride, fromY, toY);
+                break;
+        }
+    }
+
+    /**
+     * Converts every pixel with {@code Color.HSBtoRGB}. The hue and the radius of each
+     * pixel of the wheel are calculated with full precision instead of being read from the
+     * fixed-point tables, and its edge fades out linearly, like it always did, instead of
+     * being measured by its coverage. Only the spans of the geometry are used, to skip the corners.
+     */
+    private static void renderExactRows(ColorPickerMode mode, float value, int size, int step, int[] pixels, int stride, int fromY, int toY) {
+        int frameSize = PlaneKernel.frameSize(size, step);
+        if (ColorPickerMode.HUE == mode) {
+            for (int y = fromY; y < toY; y++) {
+                int offset = y * stride;
+                float brightness = (float) (y * step) / size;
+                for (int x = 0; x < frameSize; x++) {
+                    pixels[offset + x] = Color.HSBtoRGB(value, (float) (x * step) / size, brightness);
+                }
+            }
+            return;
+        }
+
+        PlaneGeometry geometry = PlaneGeometry.forSize(size);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int fromX = PlaneKernel.getSpanStart(geometry, y, step);
+            int toX = PlaneKernel.getSpanEnd(geometry, y, step);
+            int py = y * step;
+            for (int x = fromX; x < toX; x++) {
+                int px = x * step;
+                int alpha = PlaneGeometry.calculateAlpha(size, px, py);
+                if (0 == alpha) {
+                    pixels[offset + x] = 0;
+                    continue;
+                }
+                float hue = PlaneGeometry.calculateHue(size, px, py);
+                float radius = PlaneGeometry.calculateRadius(size, px, py);
+                int rgb;
+                if (ColorPickerMode.SATURATION == mode) {
+                    rgb = Color.HSBtoRGB(hue, value, radius);
+                } else {
+                    rgb = Color.HSBtoRGB(hue, radius, value);
+                }
+                pixels[offset + x] = rgb & (0xffffff | alpha << 24);
+            }
+            PlaneKernel.clearOutsideSpan(pixels, offset, fromX, toX, frameSize);
+        }
+    }
+
+    /**
+     * Makes the pixels at the edge of the wheel either opaque or transparent.
+     */
+    private static void removeAntialiasing(int[] pixels, int stride, int frameSize, int fromY, int toY) {
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            for (int x = 0; x < frameSize; x++) {
+                pixels[offset + x] = removeAntialiasing(pixels[offset + x]);
+            }
+        }
+    }
+
+    private static int removeAntialiasing(int argb) {
+        return OPAQUE_THRESHOLD <= argb >>> 24 ? argb | 0xff000000 : 0;
+    }
+
+    private static int toChannel(float value) {
+        return Math.max(0, Math.min(255, Math.round(value)));
+    }
+
+    private int[] getBrightnessWheel(int size, boolean antialiased) {
+        Plane wheel = brightnessWheel;
+        if (wheel == null || wheel.getSize() != size) {
+            synchronized (this) {
+                wheel = brightnessWheel;
+                if (wheel == null || wheel.getSize() != size) {
+                    wheel = new Plane(ColorPickerMode.BRIGHTNESS, size, createBrightnessWheel(size, antialiased));
+                    brightnessWheel = wheel;
+                }
+            }
+        }
+        return wheel.getPixels();
+    }
+
+    private int[] getChannelGradient(ColorPickerMode mode, int size) {
+        Plane gradient = channelGradient;
+        if (gradient == null || gradient.getMode() != mode || gradient.getSize() != size) {
+            synchronized (this) {
+                gradient = channelGradient;
+                if (gradient == null || gradient.getMode() != mode || gradient.getSize() != size) {
+                    gradient = new Plane(mode, size, createChannelGradient(mode, size));
+                    channelGradient = gradient;
+                }
+            }
+        }
+        return gradient.getPixels();
+    }
+
+    /**
+     * Renders the square of the {@code RED}, {@code GREEN} or {@code BLUE} mode with
+     * the fixed channel set to zero. The other two channels only depend on the size,
+     * so any plane of the mode is this gradient with the fixed channel added.
+     *
+     * @param mode the mode to render the gradient for
+     * @param size the width and height of the square
+     * @return the ARGB pixels of the gradient, indexed by {@code y * size + x}
+     */
+    private static int[] createChannelGradient(ColorPickerMode mode, int size) {
+        int[] gradient = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            float y2 = (float) y / size;
+            int vertical = (int) (y2 * 255 + 0.49);
+            for (int x = 0; x < size; x++) {
+                float x2 = (float) x / size;
+                int horizontal = (int) (x2 * 255 + 0.49);
+                int argb;
+                if (ColorPickerMode.RED == mode) {
+                    argb = (horizontal << 8) + vertical;
+                } else if (ColorPickerMode.GREEN == mode) {
+                    argb = (horizontal << 16) + vertical;
+                } else {
+                    argb = (horizontal << 16) + (vertical << 8);
+                }
+                gradient[y * size + x] = 0xFF000000 + argb;
+            }
+        }
+        return gradient;
+    }
+
+    /**
+     * Renders the wheel of the {@code BRIGHTNESS} mode at full brightness.
+     * The wheel for any other brightness only differs by a factor on every channel.
+     *
+     * @param size        the diameter of the wheel
+     * @param antialiased whether the edge of the wheel is antialiased
+     * @return the ARGB pixels of the wheel, indexed by {@code y * size + x}
+     */
+    private static int[] createBrightnessWheel(int size, boolean antialiased) {
+        PlaneGeometry geometry = PlaneGeometry.forSize(size);
+        int[] alphaMasks = geometry.getAlphaMasks();
+        int[] wheel = new int[size * size];
+        for (int i = 0; i < wheel.length; i++) {
+            if (0 != alphaMasks[i]) {
+                wheel[i] = HsbConverter.hsbToRgb(geometry.getHue(i), geometry.getRadius(i), 1) & alphaMasks[i];
+                if (!antialiased) {
+                    wheel[i] = removeAntialiasing(wheel[i]);
+                }
+            }
+        }
+        return wheel;
+    }
+
+    /**
+     * An intermediate plane together with what it was rendered for.
+     */
+    @Value
+    private static class Plane {
+        ColorPickerMode mode;
+        int size;
+        int[] pixels;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.bric.colorpicker.rendering;
+
+/**
+ * Creates the {@link PlaneKernel} for this JVM.
+ * <P>This is the version for Java 17 and later. It uses the {@link VectorPlaneKernel}
+ * if the {@code jdk.incubator.vector} module was added to the JVM.
+ */
+final class PlaneKernelFactory {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private PlaneKernelFactory() {
+    }
+
+    static PlaneKernel create() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            return new VectorPlaneKernel();
+        }
+        return new PlaneKernel();
+    }
+
+}
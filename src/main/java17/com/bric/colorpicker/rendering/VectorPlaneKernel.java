@@ -0,0 +1,189 @@
+package com.bric.colorpicker.rendering;
+
+import static jdk.incubator.vector.VectorOperators.ASHR;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LSHR;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A {@link PlaneKernel} that converts a whole vector of pixels at once with the
+ * {@code jdk.incubator.vector} API.
+ * <P>It repeats the integer operations of the scalar kernel lane by lane, so both produce
+ * exactly the same pixels. It only uses integer lanes, because conversions between float
+ * and int lanes are not compiled to vector instructions on every JVM. Previews, which skip
+ * pixels, and the last pixels of each row that don't fill a whole vector are rendered by
+ * the scalar kernel.
+ */
+class VectorPlaneKernel extends PlaneKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private static final int ONE = HsbConverter.ONE;
+
+    private static final int ROUND = 1 << (HsbConverter.BRIGHTNESS_SHIFT - 1);
+
+    private static final int FACTOR_ROUND = 1 << (BRIGHTNESS_FACTOR_SHIFT - 1);
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+
+    @Override
+    public void scaleBrightness(int[] wheel, PlaneGeometry geometry, int step, float brightness, int[] pixels, int stride, int fromY, int toY) {
+        if (1 != step) {
+            super.scaleBrightness(wheel, geometry, step, brightness, pixels, stride, fromY, toY);
+            return;
+        }
+        int size = geometry.getSize();
+        int factor = toBrightnessFactor(brightness);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int i = y * size;
+            int fromX = getSpanStart(geometry, y, 1);
+            int toX = getSpanEnd(geometry, y, 1);
+            int bound = fromX + INTS.loopBound(toX - fromX);
+            int x = fromX;
+            for (; x < bound; x += INTS.length()) {
+                IntVector argb = IntVector.fromArray(INTS, wheel, i + x);
+                IntVector red = scale(argb.lanewise(LSHR, 16).and(0xff), factor);
+                IntVector green = scale(argb.lanewise(LSHR, 8).and(0xff), factor);
+                IntVector blue = scale(argb.and(0xff), factor);
+                argb.and(0xff000000)
+                    .or(red.lanewise(LSHL, 16))
+                    .or(green.lanewise(LSHL, 8))
+                    .or(blue)
+                    .intoArray(pixels, offset + x);
+            }
+            for (; x < toX; x++) {
+                int argb = wheel[i + x];
+                pixels[offset + x] = argb & 0xff000000
+                    | scaleChannel(argb >> 16 & 0xff, factor) << 16
+                    | scaleChannel(argb >> 8 & 0xff, factor) << 8
+                    | scaleChannel(argb & 0xff, factor);
+            }
+            clearOutsideSpan(pixels, offset, fromX, toX, size);
+        }
+    }
+
+    private static IntVector scale(IntVector channel, int factor) {
+        return channel.mul(factor).add(FACTOR_ROUND).lanewise(ASHR, BRIGHTNESS_FACTOR_SHIFT);
+    }
+
+    @Override
+    public void addChannel(int[] gradient, int size, int step, int channel, int[] pixels, int stride, int fromY, int toY) {
+        if (1 != step) {
+            super.addChannel(gradient, size, step, channel, pixels, stride, fromY, toY);
+            return;
+        }
+        int bound = INTS.loopBound(size);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int i = y * size;
+            int x = 0;
+            for (; x < bound; x += INTS.length()) {
+                IntVector.fromArray(INTS, gradient, i + x).or(channel).intoArray(pixels, offset + x);
+            }
+            for (; x < size; x++) {
+                pixels[offset + x] = gradient[i + x] | channel;
+            }
+        }
+    }
+
+    @Override
+    public void renderWheel(PlaneGeometry geometry, int step, float saturation, int[] pixels, int stride, int fromY, int toY) {
+        if (1 != step) {
+            super.renderWheel(geometry, step, saturation, pixels, stride, fromY, toY);
+            return;
+        }
+        int size = geometry.getSize();
+        int[] hues = geometry.getFixedHues();
+        int[] radii = geometry.getFixedRadii();
+        int[] alphaMasks = geometry.getAlphaMasks();
+        int fixedSaturation = HsbConverter.toFixedSaturation(saturation);
+        IntVector saturations = IntVector.broadcast(INTS, fixedSaturation);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int i = y * size;
+            int fromX = getSpanStart(geometry, y, 1);
+            int toX = getSpanEnd(geometry, y, 1);
+            int bound = fromX + INTS.loopBound(toX - fromX);
+            int x = fromX;
+            for (; x < bound; x += INTS.length()) {
+                IntVector hue = IntVector.fromArray(INTS, hues, i + x);
+                IntVector brightness = IntVector.fromArray(INTS, radii, i + x);
+                hsbToRgb(hue, saturations, brightness)
+                    .and(IntVector.fromArray(INTS, alphaMasks, i + x))
+                    .intoArray(pixels, offset + x);
+            }
+            renderWheelRow(geometry, 1, fixedSaturation, pixels, offset, i, x, toX);
+            clearOutsideSpan(pixels, offset, fromX, toX, size);
+        }
+    }
+
+    @Override
+    public void renderSquare(float hue, int size, int step, int[] pixels, int stride, int fromY, int toY) {
+        if (1 != step) {
+            super.renderSquare(hue, size, step, pixels, stride, fromY, toY);
+            return;
+        }
+        int[] saturated = new int[3];
+        HsbConverter.hueToRgbFixed(HsbConverter.toFixedHue(hue), saturated);
+        IntVector columns = IntVector.zero(INTS).addIndex(1);
+        int bound = INTS.loopBound(size);
+        for (int y = fromY; y < toY; y++) {
+            int offset = y * stride;
+            int gray = toGradientBrightness(y, size);
+            int redSlope = toGradientSlope(gray, saturated[0], size, 1);
+            int greenSlope = toGradientSlope(gray, saturated[1], size, 1);
+            int blueSlope = toGradientSlope(gray, saturated[2], size, 1);
+            int start = gray + GRADIENT_ROUND;
+            int x = 0;
+            for (; x < bound; x += INTS.length()) {
+                IntVector column = columns.add(x);
+                IntVector red = column.mul(-redSlope).add(start);
+                IntVector green = column.mul(-greenSlope).add(start);
+                IntVector blue = column.mul(-blueSlope).add(start);
+                red.and(0xff0000)
+                    .or(green.lanewise(ASHR, 8).and(0xff00))
+                    .or(blue.lanewise(ASHR, GRADIENT_SHIFT))
+                    .or(0xff000000)
+                    .intoArray(pixels, offset + x);
+            }
+            for (; x < size; x++) {
+                pixels[offset + x] = packGradient(start - x * redSlope, start - x * greenSlope, start - x * blueSlope);
+            }
+        }
+    }
+
+    /**
+     * Converts colors like {@link HsbConverter#hsbToRgbFixed(int, int, int)}.
+     */
+    private static IntVector hsbToRgb(IntVector hue, IntVector saturation, IntVector brightness) {
+        IntVector sector = hue.lanewise(ASHR, 15);
+        IntVector fraction = hue.and(ONE - 1);
+        IntVector v = brightness;
+        IntVector p = brightness.mul(saturation.neg().add(ONE)).lanewise(ASHR, 15);
+        IntVector q = brightness.mul(saturation.mul(fraction).lanewise(ASHR, 15).neg().add(ONE)).lanewise(ASHR, 15);
+        IntVector t = brightness.mul(saturation.mul(fraction.neg().add(ONE)).lanewise(ASHR, 15).neg().add(ONE)).lanewise(ASHR, 15);
+
+        VectorMask<Integer> sector0 = sector.eq(0);
+        VectorMask<Integer> sector1 = sector.eq(1);
+        VectorMask<Integer> sector2 = sector.eq(2);
+        VectorMask<Integer> sector3 = sector.eq(3);
+        VectorMask<Integer> sector4 = sector.eq(4);
+
+        IntVector red = v.blend(q, sector1).blend(p, sector2.or(sector3)).blend(t, sector4);
+        IntVector green = p.blend(t, sector0).blend(v, sector1.or(sector2)).blend(q, sector3);
+        IntVector blue = q.blend(p, sector0.or(sector1)).blend(t, sector2).blend(v, sector3.or(sector4));
+
+        return red.add(ROUND).lanewise(ASHR, HsbConverter.BRIGHTNESS_SHIFT).lanewise(LSHL, 16)
+            .or(green.add(ROUND).lanewise(ASHR, HsbConverter.BRIGHTNESS_SHIFT).lanewise(LSHL, 8))
+            .or(blue.add(ROUND).lanewise(ASHR, HsbConverter.BRIGHTNESS_SHIFT))
+            .or(0xff000000);
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.bric.colorpicker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bric.colorpicker.rendering.PlaneGeometry;
+import java.awt.Color;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.awt.event.MouseEvent;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColorPickerPanelTest {
+
+    private final ColorPickerPanel panel = new ColorPickerPanel();
+
+    @BeforeEach
+    void setUp() {
+        // leaves a graphic of 200x200 pixels at (6,6) inside the padding
+        panel.setSize(212, 212);
+    }
+
+    @Test
+    void returnsGrayAtCenterOfWheel() {
+
+        panel.setMode(ColorPickerMode.BRIGHTNESS);
+        panel.setHSB(0.3f, 0.5f, 0.8f);
+
+        int color = panel.colorAt(106, 106);
+
+        assertThat(color).isEqualTo(0xffcccccc);
+
+    }
+
+    @Test
+    void returnsFullPrecisionColorOfWheel() {
+
+        panel.setMode(ColorPickerMode.SATURATION);
+        panel.setHSB(0.3f, 0.7f, 0.8f);
+
+        int color = panel.colorAt(6 + 37, 6 + 151);
+
+        assertThat(color).isEqualTo(Color.HSBtoRGB(PlaneGeometry.calculateHue(200, 37, 151), 0.7f, PlaneGeometry.calculateRadius(200, 37, 151)));
+
+    }
+
+    @Test
+    void returnsChannelsAlongAxes() {
+
+        panel.setMode(ColorPickerMode.RED);
+        panel.setRGB(10, 20, 30);
+
+        assertThat(panel.colorAt(6, 6)).isEqualTo(0xff0a0000);
+        assertThat(panel.colorAt(206, 206)).isEqualTo(0xff0affff);
+        assertThat(panel.colorAt(106, 6)).isEqualTo(0xff0a7f00);
+
+    }
+
+    @Test
+    void clampsPointsOutsideGraphic() {
+
+        panel.setMode(ColorPickerMode.HUE);
+        panel.setHSB(0.0f, 0.5f, 0.5f);
+
+        assertThat(panel.colorAt(-50, 300)).isEqualTo(panel.colorAt(6, 206));
+
+    }
+
+    @Test
+    void selectsColorAtClickedPoint() {
+
+        panel.setMode(ColorPickerMode.SATURATION);
+        panel.setHSB(0.0f, 1.0f, 1.0f);
+        int expected = panel.colorAt(150, 60);
+
+        panel.dispatchEvent(new MouseEvent(panel, MouseEvent.MOUSE_PRESSED, 0, 0, 150, 60, 1, false));
+
+        int[] rgb = panel.getRGB();
+        assertThat(0xff000000 | rgb[0] << 16 | rgb[1] << 8 | rgb[2]).isEqualTo(expected);
+
+    }
+
+    @Test
+    void keepsHueOfGrayWhileUpdatingRgb() {
+
+        panel.setMode(ColorPickerMode.HUE);
+
+        panel.setHSB(0.5f, 0.0f, 0.4f);
+
+        assertThat(panel.getHSB()).containsExactly(0.5f, 0.0f, 0.4f);
+        assertThat(panel.getRGB()).containsExactly(102, 102, 102);
+
+    }
+
+    @Test
+    void appliesReleasePositionOfDrag() {
+
+        panel.setMode(ColorPickerMode.HUE);
+        panel.setHSB(0.0f, 0.5f, 0.5f);
+        int expected = panel.colorAt(180, 40);
+
+        panel.dispatchEvent(new MouseEvent(panel, MouseEvent.MOUSE_PRESSED, 0, 0, 20, 20, 1, false));
+        panel.dispatchEvent(new MouseEvent(panel, MouseEvent.MOUSE_DRAGGED, 0, 0, 60, 30, 1, false));
+        panel.dispatchEvent(new MouseEvent(panel, MouseEvent.MOUSE_DRAGGED, 0, 0, 120, 35, 1, false));
+        panel.dispatchEvent(new MouseEvent(panel, MouseEvent.MOUSE_RELEASED, 0, 0, 180, 40, 1, false));
+
+        int[] rgb = panel.getRGB();
+        assertThat(0xff000000 | rgb[0] << 16 | rgb[1] << 8 | rgb[2]).isEqualTo(expected);
+        assertThat(panel.getValueIsAdjusting()).isFalse();
+
+    }
+
+    @Test
+    void movesMarkerWithArrowKeys() {
+
+        panel.setMode(ColorPickerMode.HUE);
+        panel.setHSB(0.2f, 0.5f, 0.5f);
+        int expected = panel.colorAt(106 + 1, 106 + 5);
+        KeyListener keyListener = panel.getKeyListeners()[0];
+
+        keyListener.keyPressed(new KeyEvent(panel, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+        keyListener.keyReleased(new KeyEvent(panel, KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+        keyListener.keyPressed(new KeyEvent(panel, KeyEvent.KEY_PRESSED, 0, KeyEvent.SHIFT_DOWN_MASK, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED));
+        keyListener.keyReleased(new KeyEvent(panel, KeyEvent.KEY_RELEASED, 0, KeyEvent.SHIFT_DOWN_MASK, KeyEvent.VK_DOWN, KeyEvent.CHAR_UNDEFINED));
+
+        int[] rgb = panel.getRGB();
+        assertThat(0xff000000 | rgb[0] << 16 | rgb[1] << 8 | rgb[2]).isEqualTo(expected);
+
+    }
+
+    @Test
+    void coalescesRepeatsOfHeldArrowKey() throws Exception {
+
+        panel.setMode(ColorPickerMode.HUE);
+        panel.setHSB(0.2f, 0.5f, 0.5f);
+        int afterPress = panel.colorAt(106 + 1, 106);
+        int afterRelease = panel.colorAt(106 + 4, 106);
+        KeyListener keyListener = panel.getKeyListeners()[0];
+        int[][] rgb = new int[2][];
+
+        // on the event dispatch thread, so that the timer can't apply the repeats in between
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 4; i++) {
+                keyListener.keyPressed(new KeyEvent(panel, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+            }
+            rgb[0] = panel.getRGB();
+            keyListener.keyReleased(new KeyEvent(panel, KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+            rgb[1] = panel.getRGB();
+        });
+
+        assertThat(0xff000000 | rgb[0][0] << 16 | rgb[0][1] << 8 | rgb[0][2]).isEqualTo(afterPress);
+        assertThat(0xff000000 | rgb[1][0] << 16 | rgb[1][1] << 8 | rgb[1][2]).isEqualTo(afterRelease);
+        assertThat(panel.getValueIsAdjusting()).isFalse();
+
+    }
+
+    @Test
+    void releasesHeldArrowKeyWhenFocusIsLost() throws Exception {
+
+        panel.setMode(ColorPickerMode.HUE);
+        panel.setHSB(0.2f, 0.5f, 0.5f);
+        KeyListener keyListener = panel.getKeyListeners()[0];
+        boolean[] adjusting = new boolean[2];
+
+        SwingUtilities.invokeAndWait(() -> {
+            keyListener.keyPressed(new KeyEvent(panel, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+            keyListener.keyPressed(new KeyEvent(panel, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_RIGHT, KeyEvent.CHAR_UNDEFINED));
+            adjusting[0] = panel.getValueIsAdjusting();
+            for (FocusListener focusListener : panel.getFocusListeners()) {
+                focusListener.focusLost(new FocusEvent(panel, FocusEvent.FOCUS_LOST));
+            }
+            adjusting[1] = panel.getValueIsAdjusting();
+        });
+
+        assertThat(adjusting).containsExactly(true, false);
+
+    }
+
+    @Test
+    void acceleratesHeldArrowKeys() {
+
+        assertThat(ColorPickerPanel.getKeySpeed(0)).isEqualTo(1);
+        assertThat(ColorPickerPanel.getKeySpeed(399)).isEqualTo(1);
+        assertThat(ColorPickerPanel.getKeySpeed(400)).isEqualTo(2);
+        assertThat(ColorPickerPanel.getKeySpeed(900)).isEqualTo(4);
+        assertThat(ColorPickerPanel.getKeySpeed(60_000)).isEqualTo(8);
+
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.bric.colorpicker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bric.colorpicker.colorslider.ColorSlider;
+import com.bric.colorpicker.models.ColorModel;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.MouseEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ColorPickerTest {
+
+    private final ColorPicker colorPicker = new ColorPicker();
+
+    private final ColorPickerPanel colorPanel = colorPicker.getColorPanel();
+
+    @BeforeEach
+    void setUp() {
+        colorPanel.setSize(212, 212);
+        colorPicker.setMode(ColorPickerMode.HUE);
+    }
+
+    @Test
+    void keepsHueOfGray() {
+
+        colorPicker.setHSB(0.125f, 0.0f, 0.5f);
+
+        assertThat(colorPicker.getHSB()).containsExactly(0.125f, 0.0f, 0.5f);
+        assertThat(colorPanel.getHSB()).containsExactly(0.125f, 0.0f, 0.5f);
+
+    }
+
+    @Test
+    void keepsLargePanelInteractive() {
+
+        assertThat(colorPanel.isAsynchronousRendering()).isTrue();
+        assertThat(colorPanel.isParallelRendering()).isTrue();
+        assertThat(colorPanel.isProgressiveRendering()).isTrue();
+        assertThat(new ColorPickerPanel().isAsynchronousRendering()).isFalse();
+
+    }
+
+    @Test
+    void previewsPanelWhileSliderIsDragged() {
+
+        ColorSlider slider = findSlider(colorPicker);
+        colorPicker.setHSB(0.3f, 0.4f, 0.6f);
+
+        slider.setValueIsAdjusting(true);
+        slider.setValue(slider.getMaximum() / 2);
+
+        assertThat(colorPanel.getValueIsAdjusting()).isTrue();
+        assertThat(colorPicker.getHSB()[0]).isEqualTo(slider.getValue() / (float) slider.getMaximum());
+
+        slider.setValueIsAdjusting(false);
+
+        assertThat(colorPanel.getValueIsAdjusting()).isFalse();
+
+    }
+
+    @Test
+    void keepsAdjustingPanelWhenSliderFollowsIt() {
+
+        colorPanel.setValueIsAdjusting(true);
+
+        colorPicker.setHSB(0.7f, 0.4f, 0.6f);
+
+        assertThat(colorPanel.getValueIsAdjusting()).isTrue();
+
+    }
+
+    @Test
+    void rendersOnceWhenHueChanges() {
+
+        colorPicker.setHSB(0.3f, 0.4f, 0.6f);
+        long renderCount = colorPanel.getRenderCount();
+
+        colorPicker.setHSB(0.7f, 0.4f, 0.6f);
+
+        assertThat(colorPanel.getRenderCount()).isEqualTo(renderCount + 1);
+
+    }
+
+    @Test
+    void doesNotRenderWhenPanelIsClicked() {
+
+        colorPicker.setHSB(0.3f, 0.4f, 0.6f);
+        long renderCount = colorPanel.getRenderCount();
+
+        colorPanel.dispatchEvent(new MouseEvent(colorPanel, MouseEvent.MOUSE_PRESSED, 0, 0, 150, 60, 1, false));
+
+        assertThat(colorPanel.getRenderCount()).isEqualTo(renderCount);
+        assertThat(colorPicker.getHSB()).containsExactly(colorPanel.getHSB());
+
+    }
+
+    @Test
+    void selectsSameColorAsJavaAwt() {
+
+        colorPicker.setHSB(0.0f, 0.1f, 1.0f);
+
+        assertThat(colorPicker.getColor()).isEqualTo(new Color(0xffe6e6));
+        assertThat(colorPanel.getRGB()).containsExactly(0xff, 0xe6, 0xe6);
+
+    }
+
+    @Test
+    void normalizesHsbOfModel() {
+
+        ColorModel colorModel = modelWith(1.25f, 1.5f, -0.5f);
+
+        colorPanel.colorChanged(colorModel);
+
+        assertThat(colorModel.getHSB()).containsExactly(0.25f, 1.0f, 0.0f);
+        assertThat(colorPanel.getHSB()).containsExactly(0.25f, 1.0f, 0.0f);
+
+    }
+
+    private static ColorSlider findSlider(Container container) {
+        for (Component component : container.getComponents()) {
+            if (component instanceof ColorSlider) {
+                return (ColorSlider) component;
+            }
+            if (component instanceof Container) {
+                ColorSlider slider = findSlider((Container) component);
+                if (slider != null) {
+                    return slider;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static ColorModel modelWith(float hue, float saturation, float brightness) {
+        ColorModel colorModel = new ColorModel();
+        colorModel.setHSB(hue, saturation, brightness);
+        return colorModel;
+    }
+
+}
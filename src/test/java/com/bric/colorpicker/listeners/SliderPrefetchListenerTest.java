@@ -0,0 +1,32 @@
+package com.bric.colorpicker.listeners;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.ColorPickerPanel;
+import org.junit.jupiter.api.Test;
+
+class SliderPrefetchListenerTest {
+
+    @Test
+    void wrapsHueAtMaximumLikePanel() {
+
+        ColorPickerPanel panel = new ColorPickerPanel();
+        panel.setHSB(1, 0.5f, 0.5f);
+
+        float value = SliderPrefetchListener.toPlaneValue(ColorPickerMode.HUE, ColorPickerMode.HUE.getMax());
+
+        assertThat(value).isZero();
+        assertThat(value).isEqualTo(panel.getHSB()[0]);
+
+    }
+
+    @Test
+    void keepsValuesOfOtherModes() {
+
+        assertThat(SliderPrefetchListener.toPlaneValue(ColorPickerMode.SATURATION, ColorPickerMode.SATURATION.getMax())).isEqualTo(1);
+        assertThat(SliderPrefetchListener.toPlaneValue(ColorPickerMode.RED, 255)).isEqualTo(255);
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import org.junit.jupiter.api.Test;
+
+class HsbConverterTest {
+
+    private static final int HUE_STEPS = 3600;
+
+    private static final int STEPS = 100;
+
+    @Test
+    void convertsHsbToRgbWithinMaximumError() {
+
+        int maxError = 0;
+        for (int h = 0; h <= HUE_STEPS; h++) {
+            float hue = (float) h / HUE_STEPS;
+            for (int s = 0; s <= STEPS; s++) {
+                float saturation = (float) s / STEPS;
+                for (int b = 0; b <= STEPS; b++) {
+                    float brightness = (float) b / STEPS;
+                    int expected = Color.HSBtoRGB(hue, saturation, brightness);
+                    int actual = HsbConverter.hsbToRgb(hue, saturation, brightness);
+                    maxError = Math.max(maxError, channelError(expected, actual));
+                }
+            }
+        }
+
+        assertThat(maxError).isLessThanOrEqualTo(HsbConverter.MAX_RGB_ERROR);
+
+    }
+
+    @Test
+    void wrapsHueLikeColor() {
+
+        for (float hue = -3.0f; hue <= 3.0f; hue += 0.01f) {
+            int expected = Color.HSBtoRGB(hue, 0.8f, 0.6f);
+            int actual = HsbConverter.hsbToRgb(hue, 0.8f, 0.6f);
+            assertThat(channelError(expected, actual)).isLessThanOrEqualTo(HsbConverter.MAX_RGB_ERROR);
+        }
+
+    }
+
+    @Test
+    void returnsOpaqueColors() {
+
+        int rgb = HsbConverter.hsbToRgb(0.3f, 0.5f, 0.0f);
+
+        assertThat(rgb).isEqualTo(0xff000000);
+
+    }
+
+    private static int channelError(int expected, int actual) {
+        int error = 0;
+        for (int shift = 0; shift <= 24; shift += 8) {
+            error = Math.max(error, Math.abs((expected >> shift & 0xff) - (actual >> shift & 0xff)));
+        }
+        return error;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bric.colorpicker.ColorPickerMode;
+import org.junit.jupiter.api.Test;
+
+class PlaneCacheTest {
+
+    private static final int SIZE = 10;
+
+    private static final long PLANE_BYTES = SIZE * SIZE * Integer.BYTES;
+
+    private final PlaneCache planeCache = new PlaneCache(2 * PLANE_BYTES, false);
+
+    @Test
+    void returnsCachedPlane() {
+
+        int[] plane = new int[SIZE * SIZE];
+        planeCache.put(key(ColorPickerMode.HUE, 0.5f), plane);
+
+        int[] cached = planeCache.get(key(ColorPickerMode.HUE, 0.5f));
+
+        assertThat(cached).isSameAs(plane);
+        assertThat(planeCache.getBytes()).isEqualTo(PLANE_BYTES);
+
+    }
+
+    @Test
+    void distinguishesModesAndValues() {
+
+        planeCache.put(key(ColorPickerMode.HUE, 0.5f), new int[SIZE * SIZE]);
+
+        assertThat(planeCache.get(key(ColorPickerMode.SATURATION, 0.5f))).isNull();
+        assertThat(planeCache.get(key(ColorPickerMode.HUE, 0.6f))).isNull();
+        assertThat(planeCache.get(new PlaneCache.Key(ColorPickerMode.HUE, 0.5f, SIZE + 1))).isNull();
+
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPlane() {
+
+        planeCache.put(key(ColorPickerMode.HUE, 0.1f), new int[SIZE * SIZE]);
+        planeCache.put(key(ColorPickerMode.HUE, 0.2f), new int[SIZE * SIZE]);
+        planeCache.get(key(ColorPickerMode.HUE, 0.1f));
+
+        planeCache.put(key(ColorPickerMode.HUE, 0.3f), new int[SIZE * SIZE]);
+
+        assertThat(planeCache.get(key(ColorPickerMode.HUE, 0.1f))).isNotNull();
+        assertThat(planeCache.get(key(ColorPickerMode.HUE, 0.2f))).isNull();
+        assertThat(planeCache.get(key(ColorPickerMode.HUE, 0.3f))).isNotNull();
+        assertThat(planeCache.getBytes()).isEqualTo(2 * PLANE_BYTES);
+
+    }
+
+    @Test
+    void skipsPlanesLargerThanCache() {
+
+        planeCache.put(key(ColorPickerMode.RED, 7), new int[3 * SIZE * SIZE]);
+
+        assertThat(planeCache.get(key(ColorPickerMode.RED, 7))).isNull();
+        assertThat(planeCache.getBytes()).isZero();
+
+    }
+
+    @Test
+    void clearsAllPlanes() {
+
+        planeCache.put(key(ColorPickerMode.BLUE, 1), new int[SIZE * SIZE]);
+
+        planeCache.clear();
+
+        assertThat(planeCache.get(key(ColorPickerMode.BLUE, 1))).isNull();
+        assertThat(planeCache.getBytes()).isZero();
+
+    }
+
+    @Test
+    void rejectsNegativeLimit() {
+
+        assertThatThrownBy(() -> new PlaneCache(-1, true))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The maximum number of bytes (-1) must not be negative.");
+
+    }
+
+    private static PlaneCache.Key key(ColorPickerMode mode, float value) {
+        return new PlaneCache.Key(mode, value, SIZE);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class PlaneGeometryTest {
+
+    private static final int SIZE = 101;
+
+    private final PlaneGeometry geometry = PlaneGeometry.forSize(SIZE);
+
+    @Test
+    void measuresCoverageOfEdgePixels() {
+
+        int center = SIZE / 2 * SIZE + SIZE / 2;
+
+        assertThat(geometry.getCoverage(0)).isZero();
+        assertThat(geometry.getCoverage(center)).isEqualTo(255);
+        assertThat(geometry.getCoverage(SIZE / 2 * SIZE)).isBetween(1, 254);
+
+    }
+
+    @Test
+    void derivesPolarCoordinates() {
+
+        int right = SIZE / 2 * SIZE + SIZE - 1;
+        int bottom = (SIZE - 1) * SIZE + SIZE / 2;
+
+        assertThat(geometry.getRadius(SIZE / 2 * SIZE + SIZE / 2)).isCloseTo(0.014f, within(0.001f));
+        assertThat(geometry.getRadius(right)).isCloseTo(0.98f, within(0.001f));
+        assertThat(geometry.getRadius(0)).isEqualTo(1);
+        assertThat(geometry.getHue(right)).isCloseTo(0.25f, within(0.005f));
+        assertThat(geometry.getHue(bottom)).isCloseTo(0.5f, within(0.005f));
+
+    }
+
+    @Test
+    void spansContainAllVisiblePixels() {
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                boolean inSpan = geometry.getSpanStarts()[y] <= x && x < geometry.getSpanEnds()[y];
+                assertThat(inSpan || 0 == geometry.getCoverage(y * SIZE + x)).isTrue();
+            }
+        }
+        assertThat(geometry.getSpanStarts()[SIZE / 2]).isZero();
+        assertThat(geometry.getSpanStarts()[0]).isGreaterThan(SIZE / 4);
+
+    }
+
+    @Test
+    void sharesGeometryOfSameSize() {
+
+        PlaneGeometry other = PlaneGeometry.forSize(SIZE);
+
+        assertThat(other).isSameAs(geometry);
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.bric.colorpicker.ColorPickerMode;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Loads the classes like a multi-release JAR does on Java 17, with the classes in
+ * {@code META-INF/versions/17} in front of the others. The test classpath can't do that,
+ * because it puts them behind the base classes, so every other test uses the base factory.
+ */
+class PlaneKernelFactoryTest {
+
+    private static final String PACKAGE = "com.bric.colorpicker.rendering.";
+
+    private static final int SIZE = 203;
+
+    private URLClassLoader classLoader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        File classes = new File(PlaneKernel.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        File versioned = new File(classes, "META-INF/versions/17");
+        assumeTrue(new File(versioned, "com/bric/colorpicker/rendering/PlaneKernelFactory.class").isFile(),
+            "The classes for Java 17 are only compiled on Java 17 and later");
+        // the parent of the system class loader is the platform class loader, which doesn't see the classes under test
+        classLoader = new URLClassLoader(new URL[]{versioned.toURI().toURL(), classes.toURI().toURL()},
+            ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (classLoader != null) {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    void selectsVectorKernel() throws Exception {
+
+        Class<?> kernelType = classLoader.loadClass(PACKAGE + "PlaneKernel");
+        Object kernel = kernelType.getMethod("getInstance").invoke(null);
+
+        assertThat(kernel.getClass().getName()).isEqualTo(PACKAGE + "VectorPlaneKernel");
+        assertThat(kernelType.getMethod("isVectorized").invoke(kernel)).isEqualTo(true);
+        assertThat(PlaneKernel.getInstance().isVectorized()).isFalse();
+
+    }
+
+    @Test
+    void rendersLikeScalarKernel() throws Exception {
+
+        Class<?> rendererType = classLoader.loadClass(PACKAGE + "PlaneRenderer");
+        Class<?> modeType = classLoader.loadClass("com.bric.colorpicker.ColorPickerMode");
+        Object vectorRenderer = rendererType.getConstructor().newInstance();
+        Method render = rendererType.getMethod("render", modeType, float.class, int.class, int[].class, int.class);
+        PlaneRenderer scalarRenderer = new PlaneRenderer();
+
+        for (ColorPickerMode mode : new ColorPickerMode[]{ColorPickerMode.HUE, ColorPickerMode.SATURATION, ColorPickerMode.BRIGHTNESS, ColorPickerMode.RED}) {
+            float value = ColorPickerMode.RED == mode ? 171 : 0.77f;
+            int[] expected = new int[SIZE * SIZE];
+            int[] actual = new int[SIZE * SIZE];
+
+            scalarRenderer.render(mode, value, SIZE, expected, SIZE);
+            render.invoke(vectorRenderer, modeType.getField(mode.name()).get(null), value, SIZE, actual, SIZE);
+
+            assertThat(actual).as(mode.name()).isEqualTo(expected);
+        }
+
+    }
+
+}
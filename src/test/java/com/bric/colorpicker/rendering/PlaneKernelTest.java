@@ -0,0 +1,156 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PlaneKernelTest {
+
+    private static final int[] SIZES = {1, 7, 64, 203};
+
+    private static final int[] STEPS = {1, 2};
+
+    private static final float[] VALUES = {0.0f, 0.1f, 1.0f / 6, 0.5f, 0.77f, 0.999f, 1.0f};
+
+    private final Random random = new Random(42);
+
+    private final PlaneKernel scalarKernel = new PlaneKernel();
+
+    private PlaneKernel vectorKernel;
+
+    @BeforeEach
+    void setUp() throws ReflectiveOperationException {
+        try {
+            Class<?> type = Class.forName("com.bric.colorpicker.rendering.VectorPlaneKernel");
+            vectorKernel = (PlaneKernel) type.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            vectorKernel = null;
+        }
+        assumeTrue(vectorKernel != null, "The vector kernel requires Java 17 and the jdk.incubator.vector module");
+    }
+
+    @Test
+    void scalesBrightnessLikeScalarKernel() {
+
+        for (int size : SIZES) {
+            PlaneGeometry geometry = PlaneGeometry.forSize(size);
+            int[] wheel = randomPixels(size * size);
+            for (int step : STEPS) {
+                for (float brightness : VALUES) {
+                    int[] expected = frame(size);
+                    int[] actual = frame(size);
+
+                    scalarKernel.scaleBrightness(wheel, geometry, step, brightness, expected, stride(size), 0, frameSize(size, step));
+                    vectorKernel.scaleBrightness(wheel, geometry, step, brightness, actual, stride(size), 0, frameSize(size, step));
+
+                    assertThat(actual).isEqualTo(expected);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    void addsChannelLikeScalarKernel() {
+
+        for (int size : SIZES) {
+            int[] gradient = randomPixels(size * size);
+            for (int step : STEPS) {
+                int[] expected = frame(size);
+                int[] actual = frame(size);
+
+                scalarKernel.addChannel(gradient, size, step, 0xab00, expected, stride(size), 0, frameSize(size, step));
+                vectorKernel.addChannel(gradient, size, step, 0xab00, actual, stride(size), 0, frameSize(size, step));
+
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+
+    }
+
+    @Test
+    void rendersWheelLikeScalarKernel() {
+
+        for (int size : SIZES) {
+            PlaneGeometry geometry = PlaneGeometry.forSize(size);
+            for (int step : STEPS) {
+                for (float saturation : VALUES) {
+                    int[] expected = frame(size);
+                    int[] actual = frame(size);
+
+                    scalarKernel.renderWheel(geometry, step, saturation, expected, stride(size), 0, frameSize(size, step));
+                    vectorKernel.renderWheel(geometry, step, saturation, actual, stride(size), 0, frameSize(size, step));
+
+                    assertThat(actual).isEqualTo(expected);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    void rendersSquareLikeScalarKernel() {
+
+        for (int size : SIZES) {
+            for (int step : STEPS) {
+                for (float hue : VALUES) {
+                    int[] expected = frame(size);
+                    int[] actual = frame(size);
+
+                    scalarKernel.renderSquare(hue, size, step, expected, stride(size), 0, frameSize(size, step));
+                    vectorKernel.renderSquare(hue, size, step, actual, stride(size), 0, frameSize(size, step));
+
+                    assertThat(actual).isEqualTo(expected);
+                }
+            }
+        }
+
+    }
+
+    @Test
+    void rendersOnlyRequestedRows() {
+
+        int size = 64;
+        int[] expected = frame(size);
+        int[] actual = frame(size);
+
+        scalarKernel.renderSquare(0.3f, size, 1, expected, stride(size), 10, 20);
+        vectorKernel.renderSquare(0.3f, size, 1, actual, stride(size), 10, 20);
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(actual[9 * stride(size)]).isEqualTo(0x12345678);
+        assertThat(actual[20 * stride(size)]).isEqualTo(0x12345678);
+
+    }
+
+    private int[] randomPixels(int length) {
+        int[] pixels = new int[length];
+        for (int i = 0; i < length; i++) {
+            pixels[i] = random.nextInt();
+        }
+        return pixels;
+    }
+
+    /**
+     * Creates a frame with a stride that is wider than the plane, filled with a marker
+     * value, so that writes beyond the rows show up as differences.
+     */
+    private static int[] frame(int size) {
+        int[] frame = new int[stride(size) * size];
+        Arrays.fill(frame, 0x12345678);
+        return frame;
+    }
+
+    private static int stride(int size) {
+        return size + 5;
+    }
+
+    private static int frameSize(int size, int step) {
+        return PlaneKernel.frameSize(size, step);
+    }
+
+}
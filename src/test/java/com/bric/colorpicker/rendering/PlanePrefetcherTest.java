@@ -0,0 +1,93 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bric.colorpicker.ColorPickerMode;
+import org.junit.jupiter.api.Test;
+
+class PlanePrefetcherTest {
+
+    private static final int SIZE = 20;
+
+    private static final long PLANE_BYTES = SIZE * SIZE * Integer.BYTES;
+
+    private final PlaneCache planeCache = new PlaneCache(100 * PLANE_BYTES, false);
+
+    private final PlaneRenderer planeRenderer = new PlaneRenderer();
+
+    @Test
+    void rendersPlanesIntoCache() throws InterruptedException {
+
+        PlanePrefetcher planePrefetcher = new PlanePrefetcher(planeRenderer);
+
+        planePrefetcher.prefetch(planeCache, ColorPickerMode.HUE, SIZE, 0.1f, 0.2f);
+
+        int[] expected = new int[SIZE * SIZE];
+        planeRenderer.render(ColorPickerMode.HUE, 0.2f, SIZE, expected, SIZE);
+        assertThat(awaitPlane(ColorPickerMode.HUE, 0.2f)).isEqualTo(expected);
+        assertThat(planeCache.contains(key(ColorPickerMode.HUE, 0.1f))).isTrue();
+
+    }
+
+    @Test
+    void respectsBudget() throws InterruptedException {
+
+        PlanePrefetcher planePrefetcher = new PlanePrefetcher(planeRenderer, 2 * PLANE_BYTES);
+
+        planePrefetcher.prefetch(planeCache, ColorPickerMode.RED, SIZE, 1, 2, 3);
+
+        awaitPlane(ColorPickerMode.RED, 2);
+        assertThat(planeCache.contains(key(ColorPickerMode.RED, 1))).isTrue();
+        assertThat(planeCache.contains(key(ColorPickerMode.RED, 3))).isFalse();
+        assertThat(planeCache.getBytes()).isEqualTo(2 * PLANE_BYTES);
+
+    }
+
+    @Test
+    void rendersMostLikelyPlaneLargerThanBudget() throws InterruptedException {
+
+        PlanePrefetcher planePrefetcher = new PlanePrefetcher(planeRenderer, PLANE_BYTES / 2);
+
+        planePrefetcher.prefetch(planeCache, ColorPickerMode.RED, SIZE, 1, 2);
+
+        awaitPlane(ColorPickerMode.RED, 1);
+        assertThat(planeCache.contains(key(ColorPickerMode.RED, 1))).isTrue();
+        assertThat(planeCache.contains(key(ColorPickerMode.RED, 2))).isFalse();
+
+    }
+
+    @Test
+    void skipsPlaneLargerThanHalfOfCache() throws InterruptedException {
+
+        PlaneCache smallCache = new PlaneCache(PLANE_BYTES, false);
+        PlanePrefetcher planePrefetcher = new PlanePrefetcher(planeRenderer);
+
+        planePrefetcher.prefetch(smallCache, ColorPickerMode.RED, SIZE, 1);
+        Thread.sleep(50);
+
+        assertThat(smallCache.getBytes()).isZero();
+
+    }
+
+    @Test
+    void rejectsNegativeBudget() {
+
+        assertThatThrownBy(() -> new PlanePrefetcher(planeRenderer, -1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The maximum number of bytes (-1) must not be negative.");
+
+    }
+
+    private int[] awaitPlane(ColorPickerMode mode, float value) throws InterruptedException {
+        for (int i = 0; i < 200 && !planeCache.contains(key(mode, value)); i++) {
+            Thread.sleep(10);
+        }
+        return planeCache.get(key(mode, value));
+    }
+
+    private static PlaneCache.Key key(ColorPickerMode mode, float value) {
+        return new PlaneCache.Key(mode, value, SIZE);
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.bric.colorpicker.rendering;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bric.colorpicker.ColorPickerMode;
+import com.bric.colorpicker.RenderQuality;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import org.junit.jupiter.api.Test;
+
+class PlaneRendererTest {
+
+    private static final int SIZE = 50;
+
+    private final PlaneRenderer planeRenderer = new PlaneRenderer();
+
+    @Test
+    void rendersHueSquare() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        planeRenderer.render(ColorPickerMode.HUE, 0.3f, SIZE, pixels, SIZE);
+
+        for (int y = 0; y < SIZE; y += 7) {
+            for (int x = 0; x < SIZE; x += 7) {
+                int expected = Color.HSBtoRGB(0.3f, (float) x / SIZE, (float) y / SIZE);
+                assertThat(channelError(expected, pixels[y * SIZE + x])).isLessThanOrEqualTo(HsbConverter.MAX_RGB_ERROR);
+            }
+        }
+
+    }
+
+    @Test
+    void rendersChannelSquare() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        planeRenderer.render(ColorPickerMode.GREEN, 200, SIZE, pixels, SIZE);
+
+        assertThat(pixels[0]).isEqualTo(0xff00c800);
+        assertThat(pixels[SIZE * SIZE - 1] >> 8 & 0xff).isEqualTo(200);
+
+    }
+
+    @Test
+    void rendersTransparentCornersOfWheel() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        planeRenderer.render(ColorPickerMode.BRIGHTNESS, 1, SIZE, pixels, SIZE);
+
+        assertThat(pixels[0]).isZero();
+        assertThat(pixels[SIZE / 2 * SIZE + SIZE / 2]).isEqualTo(0xffffffff);
+
+    }
+
+    @Test
+    void rendersSameImageAsArray() {
+
+        int[] pixels = new int[SIZE * SIZE];
+        BufferedImage argbImage = new BufferedImage(SIZE + 3, SIZE, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage rgbImage = new BufferedImage(SIZE, SIZE + 3, BufferedImage.TYPE_INT_RGB);
+
+        planeRenderer.render(ColorPickerMode.HUE, 0.7f, SIZE, pixels, SIZE);
+        planeRenderer.render(ColorPickerMode.HUE, 0.7f, SIZE, argbImage);
+        planeRenderer.render(ColorPickerMode.HUE, 0.7f, SIZE, rgbImage);
+
+        assertThat(argbImage.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE)).isEqualTo(pixels);
+        assertThat(rgbImage.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE)).isEqualTo(pixels);
+
+    }
+
+    @Test
+    void rendersExactColors() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        new PlaneRenderer(RenderQuality.EXACT).render(ColorPickerMode.HUE, 0.3f, SIZE, pixels, SIZE);
+
+        assertThat(pixels[17 * SIZE + 23]).isEqualTo(Color.HSBtoRGB(0.3f, 23.0f / SIZE, 17.0f / SIZE));
+
+    }
+
+    @Test
+    void rendersExactWheelLikeColorHsbToRgb() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        new PlaneRenderer(RenderQuality.EXACT).render(ColorPickerMode.BRIGHTNESS, 0.8f, SIZE, pixels, SIZE);
+
+        float radius = SIZE / 2.0f;
+        for (int y = 0; y < SIZE; y++) {
+            float y2 = y - SIZE / 2.0f;
+            for (int x = 0; x < SIZE; x++) {
+                float x2 = x - SIZE / 2.0f;
+                double theta = StrictMath.atan2(y2, x2) - 3 * Math.PI / 2.0;
+                if (0 > theta) {
+                    theta += 2 * Math.PI;
+                }
+                double r = Math.sqrt(x2 * x2 + y2 * y2);
+                int alpha = r > radius ? 0 : (int) Math.max(0, Math.min(255, 255 - 255 * (r - radius + 1.2f) / 1.2f));
+                int expected = 0 == alpha ? 0 : Color.HSBtoRGB((float) (theta / (2 * Math.PI)), (float) (r / radius), 0.8f) & (0xffffff | alpha << 24);
+                assertThat(pixels[y * SIZE + x]).isEqualTo(expected);
+            }
+        }
+
+    }
+
+    @Test
+    void rendersFastPlaneWithRepeatedPixelsAndHardEdges() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        new PlaneRenderer(RenderQuality.FAST).render(ColorPickerMode.SATURATION, 1, SIZE, pixels, SIZE);
+
+        for (int i = 0; i < pixels.length; i++) {
+            int x = i % SIZE;
+            int y = i / SIZE;
+            assertThat(pixels[i]).isEqualTo(pixels[y / 2 * 2 * SIZE + x / 2 * 2]);
+            assertThat(pixels[i] >>> 24).isIn(0, 255);
+        }
+
+    }
+
+    @Test
+    void rejectsTooSmallArray() {
+
+        int[] pixels = new int[SIZE * SIZE - 1];
+
+        assertThatThrownBy(() -> planeRenderer.render(ColorPickerMode.SATURATION, 1, SIZE, pixels, SIZE))
+            .isInstanceOf(IllegalArgumentException.class);
+
+    }
+
+    @Test
+    void rejectsTooSmallArrayForFastPlane() {
+
+        PlaneRenderer fastRenderer = new PlaneRenderer(RenderQuality.FAST);
+
+        assertThatThrownBy(() -> fastRenderer.render(ColorPickerMode.SATURATION, 1, SIZE, new int[SIZE * SIZE - 1], SIZE))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> fastRenderer.render(ColorPickerMode.SATURATION, 1, SIZE, new int[SIZE * SIZE], 30))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The stride (30) must be at least 50.");
+
+    }
+
+    @Test
+    void rejectsAlphaMode() {
+
+        int[] pixels = new int[SIZE * SIZE];
+
+        assertThatThrownBy(() -> planeRenderer.render(ColorPickerMode.ALPHA, 1, SIZE, pixels, SIZE))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The mode (ALPHA) must have a plane.");
+
+    }
+
+    private static int channelError(int expected, int actual) {
+        int error = 0;
+        for (int shift = 0; shift < 24; shift += 8) {
+            error = Math.max(error, Math.abs((expected >> shift & 0xff) - (actual >> shift & 0xff)));
+        }
+        return error;
+    }
+
+}